@@ -0,0 +1,137 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.tutorial.springboottesting.SpringBootTestingApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// time from launching a new JVM with the application to the first answered request (GET /api/employees/1, a miss
+// read from the database), against in-memory H2 created from the reactive schema. Launches the layout built by
+// the startup profile, run with mvn -Pstartup,jmh verify -Djmh.args=ApplicationStartupBenchmark
+//   default          default profile, Flyway migration check, schema validation and eager beans
+//   startup          startup profile, lazy beans and no JDBC metadata access while Hibernate boots
+//   startup-aot      startup profile with the AOT initialization code, -Dspring.aot.enabled=true
+//   startup-aot-cds  same with the class-data sharing archive of the training run
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ApplicationStartupBenchmark {
+
+  private static final Path STARTUP_DIRECTORY = Path.of("target", "startup");
+  private static final String STARTUP_JAR = "spring-boot-testing-0.0.1-SNAPSHOT-startup.jar";
+  private static final String CDS_ARCHIVE = "application.jsa";
+
+  @Param({"default", "startup", "startup-aot", "startup-aot-cds"})
+  public String variant;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private List<String> jvmOptions;
+  private List<String> applicationArguments;
+  private Process process;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    if (!Files.exists(STARTUP_DIRECTORY.resolve(CDS_ARCHIVE))) {
+      throw new IllegalStateException(STARTUP_DIRECTORY.toAbsolutePath() + " has no " + CDS_ARCHIVE
+          + ", build it with the startup profile: mvn -Pstartup,jmh verify");
+    }
+    jvmOptions = new ArrayList<>();
+    applicationArguments = new ArrayList<>(List.of("--spring.datasource.username=sa",
+        "--spring.datasource.password=", "--logging.level.root=WARN"));
+    if (!variant.equals("default")) {
+      applicationArguments.addAll(List.of("--spring.profiles.active=startup",
+          "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+          "--spring.jpa.properties.jakarta.persistence.database-product-name=H2",
+          "--spring.jpa.properties.jakarta.persistence.database-major-version=2",
+          "--spring.jpa.properties.jakarta.persistence.database-minor-version=1"));
+    }
+    if (variant.contains("aot")) {
+      jvmOptions.add("-Dspring.aot.enabled=true");
+    }
+    if (variant.contains("cds")) {
+      // fails instead of silently starting without the archive when it does not match the class path
+      jvmOptions.addAll(List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xshare:on"));
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void stopApplication() throws InterruptedException {
+    if (process != null) {
+      process.destroy();
+      process.waitFor();
+      process = null;
+    }
+  }
+
+  @Benchmark
+  public int timeToFirstRequest() throws Exception {
+    int port = freePort();
+    process = new ProcessBuilder(command(port))
+        .directory(STARTUP_DIRECTORY.toFile())
+        .redirectErrorStream(true)
+        .redirectOutput(STARTUP_DIRECTORY.resolve("benchmark-" + variant + ".log").toFile())
+        .start();
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/1")).build();
+    while (true) {
+      try {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      } catch (ConnectException e) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("the application exited with " + process.exitValue() + ", see "
+              + STARTUP_DIRECTORY.resolve("benchmark-" + variant + ".log").toAbsolutePath());
+        }
+        Thread.sleep(10);
+      }
+    }
+  }
+
+  // the startup jar with its manifest class path followed by the H2 driver, a class path the CDS archive
+  // recorded with -jar is a prefix of
+  private List<String> command(int port) {
+    String h2 = new File(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().getPath())
+        .getAbsolutePath();
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmOptions);
+    command.addAll(List.of("-cp", STARTUP_JAR + File.pathSeparator + h2,
+        SpringBootTestingApplication.class.getName(),
+        "--server.port=" + port,
+        "--spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID()
+            + ";DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/reactive/schema.sql'"));
+    command.addAll(applicationArguments);
+    return command;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import net.tutorial.springboottesting.SpringBootTestingApplication;
+import net.tutorial.springboottesting.index.EmployeeEmailIndex;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// starts the application without a web server against its own in-memory H2 database
+final class BenchmarkContexts {
+
+  private static final int INSERT_CHUNK = 1000;
+
+  private BenchmarkContexts() {
+  }
+
+  static ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+        .web(WebApplicationType.NONE)
+        .logStartupInfo(false)
+        // command line arguments, they take precedence over application.properties
+        .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN");
+  }
+
+  // employee i is named First<i> Last<i> with email employee<i>@mail.com and gets id i
+  static void insertEmployees(ConfigurableApplicationContext context, int count) {
+    EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+    List<Employee> chunk = new ArrayList<>(INSERT_CHUNK);
+    for (int i = 1; i <= count; i++) {
+      chunk.add(employee(i));
+      if (chunk.size() == INSERT_CHUNK || i == count) {
+        employeeRepository.insertAll(chunk);
+        chunk = new ArrayList<>(INSERT_CHUNK);
+      }
+    }
+    context.getBean(EmployeeEmailIndex.class).reload();
+  }
+
+  static Employee employee(long i) {
+    return Employee.builder()
+        .firstName("First" + i)
+        .lastName("Last" + i)
+        .email("employee" + i + "@mail.com")
+        .build();
+  }
+}
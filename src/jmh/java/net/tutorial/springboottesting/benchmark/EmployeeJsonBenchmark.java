@@ -0,0 +1,104 @@
+package net.tutorial.springboottesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+import net.tutorial.springboottesting.model.Employee;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// response body cost of the list endpoints per wire format, no Spring context involved;
+// json-gzip adds the compression Tomcat applies to JSON. payloadSize reports the body size as its "bytes" counter:
+// an EVENTS counter is summed over the measured invocations, a single one makes it the bytes per body
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+  @Param({"10", "1000", "10000", "100000"})
+  public int size;
+
+  @Param({"json", "json-gzip", "smile", "cbor"})
+  public String format;
+
+  private ObjectWriter writer;
+  private boolean gzip;
+  private List<Employee> employees;
+
+  @Setup
+  public void setup() {
+    ObjectMapper objectMapper = switch (format) {
+      case "smile" -> new ObjectMapper(new SmileFactory());
+      case "cbor" -> new ObjectMapper(new CBORFactory());
+      default -> new ObjectMapper();
+    };
+    writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+    gzip = format.equals("json-gzip");
+    employees = LongStream.rangeClosed(1, size)
+        .mapToObj(i -> {
+          Employee employee = BenchmarkContexts.employee(i);
+          employee.setId(i);
+          return employee;
+        })
+        .toList();
+  }
+
+  @Benchmark
+  public byte[] serializeEmployees() throws IOException {
+    return serialize();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1, batchSize = 1)
+  public byte[] payloadSize(Payload payload) throws IOException {
+    byte[] body = serialize();
+    payload.bytes += body.length;
+    return body;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Payload {
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+    }
+  }
+
+  private byte[] serialize() throws IOException {
+    if (!gzip) {
+      return writer.writeValueAsBytes(employees);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipStream = new GZIPOutputStream(bytes)) {
+      writer.writeValue(gzipStream, employees);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,83 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// one page of employees loaded as managed entities, read-only entities and projections,
+// run with -prof gc and divide gc.alloc.rate.norm by pageSize for the heap cost per row
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeProjectionBenchmark {
+
+  private static final List<String> FIELDS = List.of("id", "firstName", "lastName");
+
+  @Param({"1000"})
+  public int pageSize;
+
+  private ConfigurableApplicationContext context;
+  private EmployeeService employeeService;
+  private EmployeeRepository employeeRepository;
+  private TransactionTemplate readWriteTransaction;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    context = BenchmarkContexts.start();
+    BenchmarkContexts.insertEmployees(context, pageSize);
+    employeeService = context.getBean(EmployeeService.class);
+    employeeRepository = context.getBean(EmployeeRepository.class);
+    readWriteTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  // baseline: managed entities with dirty-checking snapshots and a flush at commit
+  @Benchmark
+  public List<Employee> readWriteEntities() {
+    return readWriteTransaction.execute(status ->
+        employeeRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.ofSize(pageSize)));
+  }
+
+  @Benchmark
+  public List<Employee> readOnlyEntities() {
+    return employeeService.getEmployeesAfter(0, pageSize);
+  }
+
+  @Benchmark
+  public List<EmployeeSummary> summaries() {
+    return employeeService.getEmployeeSummariesAfter(0, pageSize);
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> fields() {
+    return employeeService.getEmployeeFieldsAfter(FIELDS, 0, pageSize);
+  }
+}
@@ -0,0 +1,76 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// the same first/last name lookup expressed in each query style of EmployeeRepository
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRepositoryQueryBenchmark {
+
+  @Param({"1000", "100000"})
+  public int tableSize;
+
+  private ConfigurableApplicationContext context;
+  private EmployeeRepository employeeRepository;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    context = BenchmarkContexts.start();
+    BenchmarkContexts.insertEmployees(context, tableSize);
+    employeeRepository = context.getBean(EmployeeRepository.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Employee findByJPQL() {
+    int i = randomEmployee();
+    return employeeRepository.findByJPQL("First" + i, "Last" + i);
+  }
+
+  @Benchmark
+  public Employee findByJPQLNamedParams() {
+    int i = randomEmployee();
+    return employeeRepository.findByJPQLNamedParams("First" + i, "Last" + i);
+  }
+
+  @Benchmark
+  public Employee findByNativeSQL() {
+    int i = randomEmployee();
+    return employeeRepository.findByNativeSQL("First" + i, "Last" + i);
+  }
+
+  @Benchmark
+  public Employee findByNativeSQLNamed() {
+    int i = randomEmployee();
+    return employeeRepository.findByNativeSQLNamed("First" + i, "Last" + i);
+  }
+
+  private int randomEmployee() {
+    return ThreadLocalRandom.current().nextInt(1, tableSize + 1);
+  }
+}
@@ -0,0 +1,78 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.tutorial.springboottesting.index.EmployeeSearchIndex;
+import net.tutorial.springboottesting.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// type-ahead queries against the in-memory search index, no database involved
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSearchIndexBenchmark {
+
+  // names are made of two or three syllables, which spreads them over the grams like real names do
+  private static final String[] SYLLABLES = {"mi", "ha", "il", "el", "ce", "pra", "ga", "ion", "es", "cu", "ru",
+      "su", "an", "dre", "vic", "tor", "po", "pe", "lu", "ci", "ob", "ma", "ri", "na", "da", "ve", "lo", "ste"};
+
+  @Param({"100000", "1000000"})
+  public int indexSize;
+
+  private EmployeeSearchIndex employeeSearchIndex;
+  private String[] firstNames;
+  private String[] lastNames;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    employeeSearchIndex = new EmployeeSearchIndex(null);
+    firstNames = new String[indexSize];
+    lastNames = new String[indexSize];
+    for (int i = 0; i < indexSize; i++) {
+      firstNames[i] = name(random);
+      lastNames[i] = name(random) + name(random);
+      employeeSearchIndex.put(i + 1, firstNames[i], lastNames[i], "employee" + i + "@mail.com");
+    }
+  }
+
+  @Benchmark
+  public List<Employee> searchPrefix() {
+    return employeeSearchIndex.search(lastNames[randomEmployee()].substring(0, 3), 10);
+  }
+
+  @Benchmark
+  public List<Employee> searchFullName() {
+    int i = randomEmployee();
+    return employeeSearchIndex.search(firstNames[i] + " " + lastNames[i], 10);
+  }
+
+  private static String name(Random random) {
+    StringBuilder name = new StringBuilder();
+    for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+      name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+    return name.toString();
+  }
+
+  private int randomEmployee() {
+    return ThreadLocalRandom.current().nextInt(indexSize);
+  }
+}
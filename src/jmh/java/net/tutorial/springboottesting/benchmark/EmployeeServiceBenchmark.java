@@ -0,0 +1,73 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int tableSize;
+
+  private ConfigurableApplicationContext context;
+  private EmployeeService employeeService;
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    context = BenchmarkContexts.start();
+    BenchmarkContexts.insertEmployees(context, tableSize);
+    employeeService = context.getBean(EmployeeService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  // the table grows by one row per invocation, far less than tableSize over a trial
+  @Benchmark
+  public Employee saveEmployee() {
+    long n = sequence.incrementAndGet();
+    return employeeService.saveEmployee(Employee.builder()
+        .firstName("Bench")
+        .lastName("Mark" + n)
+        .email("bench" + n + "@mail.com")
+        .build());
+  }
+
+  // goes through the employee cache, mostly hits once warmed up unless tableSize exceeds its maximum size
+  @Benchmark
+  public Optional<Employee> getEmployeeById() {
+    return employeeService.getEmployeeById(ThreadLocalRandom.current().nextLong(1, tableSize + 1));
+  }
+
+  @Benchmark
+  public List<Employee> getAllEmployees() {
+    return employeeService.getAllEmployees();
+  }
+}
@@ -0,0 +1,89 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer.Format;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// whole-table export and import against H2, divide rows by the time per operation for rows per second;
+// importing into an empty table measures inserts, importing the exported rows again measures updates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeeTransferBenchmark {
+
+  @Param({"100000"})
+  public int rows;
+
+  private ConfigurableApplicationContext context;
+  private EmployeeTransfer employeeTransfer;
+  private JdbcTemplate jdbcTemplate;
+  private byte[] csv;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    context = BenchmarkContexts.start();
+    BenchmarkContexts.insertEmployees(context, rows);
+    employeeTransfer = context.getBean(EmployeeTransfer.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    employeeTransfer.export(Format.CSV, outputStream);
+    csv = outputStream.toByteArray();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void exportCsv() throws IOException {
+    employeeTransfer.export(Format.CSV, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void exportNdjson() throws IOException {
+    employeeTransfer.export(Format.NDJSON, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public EmployeeImportResult importCsvUpdates() throws IOException {
+    return employeeTransfer.importFrom(Format.CSV, new ByteArrayInputStream(csv));
+  }
+
+  @State(Scope.Benchmark)
+  public static class EmptyTable {
+
+    @Setup(Level.Invocation)
+    public void deleteAll(EmployeeTransferBenchmark benchmark) {
+      benchmark.jdbcTemplate.update("delete from employees");
+    }
+  }
+
+  @Benchmark
+  public EmployeeImportResult importCsvInserts(EmptyTable emptyTable) throws IOException {
+    return employeeTransfer.importFrom(Format.CSV, new ByteArrayInputStream(csv));
+  }
+}
@@ -0,0 +1,88 @@
+package net.tutorial.springboottesting.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// PUT and PATCH of a random employee: the former load-then-save path against the single UPDATE statements
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeUpdateBenchmark {
+
+  @Param({"1000", "100000"})
+  public int tableSize;
+
+  private ConfigurableApplicationContext context;
+  private EmployeeService employeeService;
+  // every write changes the last name so that the UPDATE statements always have something to write
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    context = BenchmarkContexts.start();
+    BenchmarkContexts.insertEmployees(context, tableSize);
+    employeeService = context.getBean(EmployeeService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  // what EmployeeController.updateEmployee did before: a lookup, then save() merging the detached entity
+  @Benchmark
+  public Employee loadThenSave() {
+    long id = randomEmployee();
+    Employee employee = employeeService.getEmployeeById(id).orElseThrow();
+    employee.setLastName("Last" + id + "-" + sequence.incrementAndGet());
+    return employeeService.updateEmployee(employee);
+  }
+
+  // one UPDATE, then the version read back from the locked row
+  @Benchmark
+  public Optional<Employee> updateById() {
+    long id = randomEmployee();
+    return employeeService.updateEmployee(id, lastNameUpdate(id), null);
+  }
+
+  // the statement only writes the given columns
+  @Benchmark
+  public Optional<Long> patchById() {
+    long id = randomEmployee();
+    return employeeService.patchEmployee(id,
+        Employee.builder().lastName("Last" + id + "-" + sequence.incrementAndGet()).build(), null);
+  }
+
+  private Employee lastNameUpdate(long id) {
+    return Employee.builder()
+        .firstName("First" + id)
+        .lastName("Last" + id + "-" + sequence.incrementAndGet())
+        .email("employee" + id + "@mail.com")
+        .build();
+  }
+
+  private long randomEmployee() {
+    return ThreadLocalRandom.current().nextLong(1, tableSize + 1);
+  }
+}
@@ -0,0 +1,108 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// Creates the employees table, or brings one created by the former spring.jpa.hibernate.ddl-auto=update up to the
+// same schema: such a database is baselined at version 0 (spring.flyway.baseline-on-migrate) and runs this migration
+// as well. Depending on when ddl-auto last ran, the table lacks any of the columns and indexes, each one is only
+// added when it is missing. Every statement runs on MySQL and H2; on an existing MySQL 8 table the columns are added
+// instantly and the indexes built in place, reads and writes go on meanwhile. A table holding the same email twice
+// cannot get the unique constraint, the duplicates have to be resolved before migrating.
+// Flyway finds the class in db.migration like it finds SQL migrations in db/migration.
+public class V1__Create_employees extends BaseJavaMigration {
+
+  private static final String TABLE = "employees";
+
+  private static final String CREATE_TABLE = "create table employees ("
+      + "id bigint not null auto_increment, "
+      + "first_name varchar(255) not null, "
+      + "last_name varchar(255) not null, "
+      + "email varchar(255), "
+      + "version bigint not null, "
+      + "deleted_at datetime(6), "
+      + "primary key (id), "
+      + "constraint uk_employees_email unique (email))";
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    DatabaseMetaData metaData = connection.getMetaData();
+    try (Statement statement = connection.createStatement()) {
+      if (!tableExists(metaData, connection)) {
+        statement.execute(CREATE_TABLE);
+      } else {
+        if (!columnExists(metaData, connection, "version")) {
+          // existing rows read the default, no row is rewritten
+          statement.execute("alter table employees add column version bigint not null default 0");
+        }
+        if (!columnExists(metaData, connection, "deleted_at")) {
+          statement.execute("alter table employees add column deleted_at datetime(6)");
+        }
+        if (!hasIndex(metaData, connection, true, "email")) {
+          statement.execute("alter table employees add constraint uk_employees_email unique (email)");
+        }
+      }
+      if (!hasIndex(metaData, connection, false, "first_name", "last_name")) {
+        statement.execute("create index idx_employees_first_name_last_name on employees (first_name, last_name)");
+      }
+      if (!hasIndex(metaData, connection, false, "deleted_at")) {
+        statement.execute("create index idx_employees_deleted_at on employees (deleted_at)");
+      }
+    }
+  }
+
+  private static boolean tableExists(DatabaseMetaData metaData, Connection connection) throws SQLException {
+    try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(),
+        identifier(metaData, TABLE), new String[] {"TABLE"})) {
+      return tables.next();
+    }
+  }
+
+  private static boolean columnExists(DatabaseMetaData metaData, Connection connection, String column)
+      throws SQLException {
+    try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+        identifier(metaData, TABLE), identifier(metaData, column))) {
+      return columns.next();
+    }
+  }
+
+  // whether an index starts with the given columns, whatever its name: ddl-auto and H2 name them their own way.
+  // A unique index has to consist of exactly the columns
+  private static boolean hasIndex(DatabaseMetaData metaData, Connection connection, boolean unique,
+      String... columns) throws SQLException {
+    Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+    Map<String, Boolean> uniqueByIndex = new LinkedHashMap<>();
+    try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+        identifier(metaData, TABLE), unique, false)) {
+      while (indexes.next()) {
+        String indexName = indexes.getString("INDEX_NAME");
+        String column = indexes.getString("COLUMN_NAME");
+        if (indexName == null || column == null) {
+          continue;
+        }
+        // ordered by NON_UNIQUE, TYPE, INDEX_NAME and ORDINAL_POSITION, the columns of an index come in order
+        columnsByIndex.computeIfAbsent(indexName, name -> new ArrayList<>()).add(column.toLowerCase(Locale.ROOT));
+        uniqueByIndex.put(indexName, !indexes.getBoolean("NON_UNIQUE"));
+      }
+    }
+    List<String> wanted = List.of(columns);
+    return columnsByIndex.entrySet().stream().anyMatch(index -> unique
+        ? uniqueByIndex.get(index.getKey()) && index.getValue().equals(wanted)
+        : index.getValue().size() >= wanted.size() && index.getValue().subList(0, wanted.size()).equals(wanted));
+  }
+
+  private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+    return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+  }
+}
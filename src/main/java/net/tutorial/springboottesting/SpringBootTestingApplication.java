@@ -2,12 +2,24 @@ package net.tutorial.springboottesting;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 @SpringBootApplication
 public class SpringBootTestingApplication {
 
+	// -Demployee.startup.exit-on-refresh=true stops the JVM as soon as the context is refreshed, before the web
+	// server starts and before anything reads from the database; the class-data sharing training run of
+	// mvn -Pstartup package uses it to record the classes loaded during startup
+	static final String EXIT_ON_REFRESH = "employee.startup.exit-on-refresh";
+
 	public static void main(String[] args) {
-		SpringApplication.run(SpringBootTestingApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringBootTestingApplication.class);
+		if (Boolean.getBoolean(EXIT_ON_REFRESH)) {
+			// halt skips the shutdown hooks, the JVM still writes the -XX:ArchiveClassesAtExit archive
+			application.addListeners((ApplicationListener<ContextRefreshedEvent>) event -> Runtime.getRuntime().halt(0));
+		}
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,65 @@
+package net.tutorial.springboottesting.coalesce;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// employee lookups by id behind the cache, set with employee.lookup.coalescing:
+// none - one findById per call,
+// single-flight - concurrent calls for the same id share one findById,
+// batch - concurrent calls within employee.lookup.batch.window share one findAllById (an IN query),
+//         up to employee.lookup.batch.max-size ids per query.
+// Waiting callers hold no connection, only the query runs in a transaction.
+// The query reads on the primary even with a replica configured: its result fills the employee cache, which keeps
+// an entry until it expires, and a lagging replica would put back the row a write has just evicted.
+@Component
+@Profile("!reactive")
+public class EmployeeLookupCoalescer {
+
+  private EmployeeRepository employeeRepository;
+  // read-write, ReadWriteRoutingDataSource sends it to the primary
+  private TransactionTemplate primaryTransaction;
+
+  private final String mode;
+  private final SingleFlight<Long, Optional<Employee>> singleFlight = new SingleFlight<>();
+  private final MicroBatcher<Long, Employee> microBatcher;
+
+  public EmployeeLookupCoalescer(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+      @Value("${employee.lookup.coalescing:single-flight}") String mode,
+      @Value("${employee.lookup.batch.window:2ms}") Duration batchWindow,
+      @Value("${employee.lookup.batch.max-size:100}") int maxBatchSize) {
+    if (!mode.equals("none") && !mode.equals("single-flight") && !mode.equals("batch")) {
+      throw new IllegalArgumentException("employee.lookup.coalescing must be none, single-flight or batch: " + mode);
+    }
+    this.employeeRepository = employeeRepository;
+    this.primaryTransaction = new TransactionTemplate(transactionManager);
+    this.mode = mode;
+    this.microBatcher = new MicroBatcher<>(this::findAllById, batchWindow, maxBatchSize);
+  }
+
+  public Optional<Employee> findById(long id) {
+    return switch (mode) {
+      case "single-flight" -> singleFlight.execute(id, () -> findOnPrimary(id));
+      case "batch" -> Optional.ofNullable(microBatcher.load(id));
+      default -> findOnPrimary(id);
+    };
+  }
+
+  private Optional<Employee> findOnPrimary(long id) {
+    return primaryTransaction.execute(status -> employeeRepository.findById(id));
+  }
+
+  private Map<Long, Employee> findAllById(Iterable<Long> ids) {
+    return primaryTransaction.execute(status -> employeeRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(Employee::getId, Function.identity())));
+  }
+}
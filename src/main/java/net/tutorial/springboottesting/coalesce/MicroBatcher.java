@@ -0,0 +1,91 @@
+package net.tutorial.springboottesting.coalesce;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+// Merges the keys requested by concurrent callers within a short window into one call of the batch loader.
+// The caller opening a batch waits up to the window and then loads it on its own thread, a batch reaching
+// maxBatchSize is loaded at once by the caller filling it. No extra threads are involved.
+public class MicroBatcher<K, V> {
+
+  private final Function<Set<K>, Map<K, V>> batchLoader;
+  private final long windowNanos;
+  private final int maxBatchSize;
+
+  private final Object lock = new Object();
+  // guarded by lock
+  private Map<K, CompletableFuture<V>> openBatch;
+
+  public MicroBatcher(Function<Set<K>, Map<K, V>> batchLoader, Duration window, int maxBatchSize) {
+    this.batchLoader = batchLoader;
+    this.windowNanos = window.toNanos();
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  // the value of the key, null when the batch loader did not return it
+  public V load(K key) {
+    Map<K, CompletableFuture<V>> batch;
+    CompletableFuture<V> result;
+    boolean opened = false;
+    boolean full = false;
+    synchronized (lock) {
+      if (openBatch == null) {
+        openBatch = new LinkedHashMap<>();
+        opened = true;
+      }
+      batch = openBatch;
+      result = batch.computeIfAbsent(key, k -> new CompletableFuture<>());
+      if (batch.size() >= maxBatchSize) {
+        openBatch = null;
+        full = true;
+      }
+    }
+    if (full) {
+      run(batch);
+    } else if (opened) {
+      awaitWindow(result);
+      if (close(batch)) {
+        run(batch);
+      }
+    }
+    return SingleFlight.join(result);
+  }
+
+  private void awaitWindow(CompletableFuture<V> result) {
+    try {
+      // returns early when a full batch was loaded by another caller
+      result.get(windowNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException e) {
+      // loaded with an error by another caller, or the window is over
+    }
+  }
+
+  // true when the batch was still open, the caller then has to load it
+  private boolean close(Map<K, CompletableFuture<V>> batch) {
+    synchronized (lock) {
+      if (openBatch != batch) {
+        return false;
+      }
+      openBatch = null;
+      return true;
+    }
+  }
+
+  private void run(Map<K, CompletableFuture<V>> batch) {
+    try {
+      Map<K, V> values = batchLoader.apply(batch.keySet());
+      batch.forEach((key, future) -> future.complete(values.get(key)));
+    } catch (RuntimeException | Error e) {
+      batch.values().forEach(future -> future.completeExceptionally(e));
+    }
+  }
+}
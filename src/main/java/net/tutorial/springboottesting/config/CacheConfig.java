@@ -0,0 +1,16 @@
+package net.tutorial.springboottesting.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// the cache advice runs outside the transaction advice: a hit opens no transaction,
+// and @CachePut / @CacheEvict only apply once the transaction has committed
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+  // cache of Employee by id, sized and expired through spring.cache.caffeine.spec
+  public static final String EMPLOYEES_CACHE = "employees";
+
+}
@@ -0,0 +1,73 @@
+package net.tutorial.springboottesting.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import net.tutorial.springboottesting.metrics.HibernateRequestStatistics;
+import net.tutorial.springboottesting.metrics.RequestStatisticsFilter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+
+// Service timers come from @Timed, repository timers (spring.data.repository.invocations) and
+// the Hikari pool metrics (hikaricp.connections.acquire) are auto-configured by Spring Boot.
+@Configuration
+public class MetricsConfig {
+
+  // Applies @Timed. TimedAspect is wrapped in an advisor with an explicit order so the timer runs outside
+  // the cache and transaction advice: a cache hit is timed like any other call. The registry is looked up
+  // on first use, advisors are created early and would otherwise initialize it before the pool metrics bind.
+  @Bean
+  public Advisor timedAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+    Supplier<TimedAspect> timedAspect = SingletonSupplier.of(() -> new TimedAspect(meterRegistry.getObject()));
+    ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Timed.class, true))
+        .union(AnnotationMatchingPointcut.forMethodAnnotation(Timed.class));
+    DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, (MethodInterceptor) invocation -> {
+      MethodInvocationProceedingJoinPoint joinPoint =
+          new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation);
+      return invocation.getMethod().isAnnotationPresent(Timed.class)
+          ? timedAspect.get().timedMethod(joinPoint)
+          : timedAspect.get().timedClass(joinPoint);
+    });
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+
+  @Bean
+  public HibernateRequestStatistics hibernateRequestStatistics() {
+    return new HibernateRequestStatistics();
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer(HibernateRequestStatistics statistics) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statistics);
+      hibernateProperties.put(AvailableSettings.INTERCEPTOR, statistics);
+    };
+  }
+
+  @Bean
+  @ConditionalOnWebApplication(type = Type.SERVLET)
+  public FilterRegistrationBean<RequestStatisticsFilter> requestStatisticsFilter(HibernateRequestStatistics statistics,
+      MeterRegistry meterRegistry) {
+    FilterRegistrationBean<RequestStatisticsFilter> registration =
+        new FilterRegistrationBean<>(new RequestStatisticsFilter(statistics, meterRegistry));
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+}
@@ -0,0 +1,35 @@
+package net.tutorial.springboottesting.config;
+
+import jakarta.persistence.Table;
+import net.tutorial.springboottesting.repository.ReactiveEmployeeRepository;
+import net.tutorial.springboottesting.repository.ReactiveEmployeeRepositoryCustomImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.relational.core.mapping.NamingStrategy;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+  // R2DBC maps the JPA entity as well, the table name is taken from its @Table so the two stay in sync
+  @Bean
+  public NamingStrategy jpaTableNamingStrategy() {
+    return new NamingStrategy() {
+      @Override
+      public String getTableName(Class<?> type) {
+        Table table = type.getAnnotation(Table.class);
+        return table == null || table.name().isEmpty() ? NamingStrategy.super.getTableName(type) : table.name();
+      }
+    };
+  }
+
+  @Bean
+  public ReactiveEmployeeRepository reactiveEmployeeRepository(R2dbcEntityTemplate r2dbcEntityTemplate) {
+    return new R2dbcRepositoryFactory(r2dbcEntityTemplate).getRepository(ReactiveEmployeeRepository.class,
+        RepositoryFragments.just(new ReactiveEmployeeRepositoryCustomImpl(r2dbcEntityTemplate.getDatabaseClient())));
+  }
+}
@@ -0,0 +1,54 @@
+package net.tutorial.springboottesting.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+// Setting employee.datasource.replica.url adds a second Hikari pool for the replica,
+// configured like spring.datasource (url, username, password, hikari.*) under employee.datasource.replica.
+// Read-only transactions then run on the replica and may lag behind the primary by the replication delay.
+// Lookups filling the employee cache stay on the primary, a stale row would be served until the entry expires.
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty("employee.datasource.replica.url")
+public class ReadReplicaConfig {
+
+  static final String REPLICA_PREFIX = "employee.datasource.replica";
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return pool(properties, "primary");
+  }
+
+  // bound by hand, a second DataSourceProperties bean would make the auto-configured one ambiguous
+  @Bean
+  @ConfigurationProperties(REPLICA_PREFIX + ".hikari")
+  public HikariDataSource replicaDataSource(Environment environment) {
+    DataSourceProperties properties = Binder.get(environment).bindOrCreate(REPLICA_PREFIX, DataSourceProperties.class);
+    return pool(properties, "replica");
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica) {
+    return ReadWriteRoutingDataSource.wrap(primary, replica);
+  }
+
+  // the pool name tags the hikaricp metrics, hikari.pool-name still overrides it
+  private static HikariDataSource pool(DataSourceProperties properties, String poolName) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName(poolName);
+    return dataSource;
+  }
+}
@@ -0,0 +1,32 @@
+package net.tutorial.springboottesting.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// sends connections of read-only transactions to the replica and everything else to the primary.
+// The read-only flag is only known once the transaction has started, so the router has to sit behind
+// a LazyConnectionDataSourceProxy that defers the checkout to the first statement, see wrap().
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  enum Route {
+    PRIMARY, REPLICA
+  }
+
+  public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  public static DataSource wrap(DataSource primary, DataSource replica) {
+    return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+  }
+}
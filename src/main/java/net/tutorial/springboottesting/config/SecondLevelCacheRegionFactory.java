@@ -0,0 +1,18 @@
+package net.tutorial.springboottesting.config;
+
+import java.net.URI;
+import java.util.Map;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+// Hibernate second-level cache on Caffeine's JCache provider, regions are sized in application.conf.
+// Caffeine hands out one cache manager per URI, every session factory gets its own URI so two application
+// contexts in one JVM (test contexts on different databases) never serve each other's rows; Hibernate
+// closes the manager with the session factory.
+public class SecondLevelCacheRegionFactory extends JCacheRegionFactory {
+
+  @Override
+  protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+    return URI.create("hibernate:" + settings.getUuid());
+  }
+}
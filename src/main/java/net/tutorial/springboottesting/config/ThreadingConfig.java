@@ -0,0 +1,68 @@
+package net.tutorial.springboottesting.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+// employee.threads.mode=virtual runs Tomcat request handling and MVC async work (streamed responses)
+// on virtual threads, platform (the default) keeps Tomcat's bounded thread pool
+@Configuration
+@ConditionalOnProperty(name = "employee.threads.mode", havingValue = "virtual")
+public class ThreadingConfig {
+
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService virtualThreadExecutor() {
+    try {
+      // looked up reflectively so the project still builds on the Java 17 baseline
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("employee.threads.mode=virtual requires Java 21 or later, running on "
+          + Runtime.version(), e);
+    }
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+    return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+  }
+
+  @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+      AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+  public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+    return new TaskExecutorAdapter(virtualThreadExecutor);
+  }
+
+  // Virtual threads remove the thread pool as the concurrency limit, the connection pool becomes the next one.
+  // Requests beyond maxInFlight wait up to acquireTimeout and are then rejected with 503 instead of queueing
+  // unbounded on Hikari (and pinning carriers inside the JDBC driver while they wait).
+  @Bean
+  public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(DataSource dataSource,
+      @Value("${employee.threads.virtual.max-in-flight:0}") int maxInFlight,
+      @Value("${employee.threads.virtual.acquire-timeout:2s}") Duration acquireTimeout) {
+    int permits = maxInFlight > 0 ? maxInFlight : 4 * maximumPoolSize(dataSource);
+    FilterRegistrationBean<RequestConcurrencyLimitFilter> registration =
+        new FilterRegistrationBean<>(new RequestConcurrencyLimitFilter(permits, acquireTimeout));
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+
+  private static int maximumPoolSize(DataSource dataSource) {
+    try {
+      return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+    } catch (Exception e) {
+      return 10;
+    }
+  }
+}
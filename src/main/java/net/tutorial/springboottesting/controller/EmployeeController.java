@@ -1,63 +1,388 @@
 package net.tutorial.springboottesting.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.dto.EmployeeIngestStatus;
+import net.tutorial.springboottesting.dto.EmployeeLookupResult;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
+import net.tutorial.springboottesting.exception.VersionConflictException;
+import net.tutorial.springboottesting.ingest.EmployeeWriteBehindQueue;
 import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepositoryCustom;
 import net.tutorial.springboottesting.service.EmployeeService;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer.Format;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+  static final int DEFAULT_PAGE_LIMIT = 100;
+  static final int MAX_PAGE_LIMIT = 1000;
+  static final int DEFAULT_SEARCH_LIMIT = 10;
+  static final int MAX_SEARCH_LIMIT = 100;
+  static final int MAX_LOOKUP_IDS = 10000;
+  // query parameters selecting one of the GET /api/employees variants, at most one of them per request
+  static final List<String> SELECTION_PARAMS = List.of("fields", "ids", "firstName", "lastName");
+  // RFC 9745 header and the paged request replacing the deprecated unbounded list
+  static final String DEPRECATION = "Deprecation";
+  static final String FIRST_PAGE_LINK = "</api/employees?after=0&limit=" + DEFAULT_PAGE_LIMIT
+      + ">; rel=\"successor-version\"";
+  // an entity tag of an If-Match list, group 1 is the weak marker, group 2 the opaque tag
+  private static final Pattern ENTITY_TAG = Pattern.compile("(W/)?\"([^\"]*)\"");
+
   private EmployeeService employeeService;
+  private EmployeeTransfer employeeTransfer;
+  private ObjectMapper objectMapper;
+  // only present with employee.ingest.mode=write-behind
+  private EmployeeWriteBehindQueue writeBehindQueue;
+
+  @Value("${employee.batch.size:500}")
+  private int batchSize;
 
-  public EmployeeController(EmployeeService employeeService) {
+  public EmployeeController(EmployeeService employeeService, EmployeeTransfer employeeTransfer,
+      ObjectMapper objectMapper, ObjectProvider<EmployeeWriteBehindQueue> writeBehindQueue) {
     this.employeeService = employeeService;
+    this.employeeTransfer = employeeTransfer;
+    this.objectMapper = objectMapper;
+    this.writeBehindQueue = writeBehindQueue.getIfAvailable();
   }
 
+  // keyset page: employees with an id greater than the cursor, ordered by id. The selections below exclude each
+  // other, a request combining them (e.g. ?ids=1&fields=email) ends up here and is rejected.
+  // Deprecated: without after and limit the whole table as one list, as the first version of the API answered.
+  // The response carries a Deprecation header and a Link to the first page, new clients page with after and limit
+  // or stream the table from /stream and /export.
   @GetMapping
-  public List<Employee> getAllEmployees() {
-    return employeeService.getAllEmployees();
+  public ResponseEntity<List<Employee>> getAllEmployees(@RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam Map<String, String> parameters) {
+    if (SELECTION_PARAMS.stream().anyMatch(parameters::containsKey)) {
+      return ResponseEntity.badRequest().build();
+    }
+    if (afterId == null && limit == null) {
+      return ResponseEntity.ok()
+          .header(DEPRECATION, "true")
+          .header(HttpHeaders.LINK, FIRST_PAGE_LINK)
+          .body(employeeService.getAllEmployees());
+    }
+    return ResponseEntity.ok(employeeService.getEmployeesAfter(afterId == null ? 0 : afterId, pageLimit(limit)));
+  }
+
+  // only the requested columns, e.g. ?fields=id,email, paged like the full list
+  @GetMapping(params = {"fields", "!ids", "!firstName", "!lastName"})
+  public ResponseEntity<List<Map<String, Object>>> getEmployeeFields(@RequestParam("fields") List<String> fields,
+      @RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    List<String> requestedFields = selectableFields(fields);
+    if (requestedFields == null) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(employeeService.getEmployeeFieldsAfter(requestedFields, afterId == null ? 0 : afterId,
+        pageLimit(limit)));
+  }
+
+  // the distinct requested fields, null when there is none or one of them cannot be selected
+  static List<String> selectableFields(List<String> fields) {
+    List<String> requestedFields = fields.stream()
+        .map(String::trim)
+        .filter(field -> !field.isEmpty())
+        .distinct()
+        .toList();
+    if (requestedFields.isEmpty() || !EmployeeRepositoryCustom.SELECTABLE_FIELDS.containsAll(requestedFields)) {
+      return null;
+    }
+    return requestedFields;
+  }
+
+  // several employees in one round trip, e.g. ?ids=1,2,3, returned in the order of the ids
+  @GetMapping(params = {"ids", "!fields", "!firstName", "!lastName"})
+  public ResponseEntity<EmployeeLookupResult> getEmployeesByIds(@RequestParam("ids") List<Long> ids) {
+    return lookupEmployees(ids, MAX_PAGE_LIMIT);
+  }
+
+  // the same lookup with the ids in the body, for id lists too long for a URL
+  @PostMapping(value = "lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<EmployeeLookupResult> lookupEmployees(@RequestBody List<Long> ids) {
+    return lookupEmployees(ids, MAX_LOOKUP_IDS);
+  }
+
+  private ResponseEntity<EmployeeLookupResult> lookupEmployees(List<Long> ids, int maxIds) {
+    if (ids.isEmpty() || ids.size() > maxIds || ids.contains(null)) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+  }
+
+  // id and name of every employee, paged like the full list
+  @GetMapping("summaries")
+  public List<EmployeeSummary> getEmployeeSummaries(@RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return employeeService.getEmployeeSummariesAfter(afterId == null ? 0 : afterId, pageLimit(limit));
+  }
+
+  // every employee with the given name, paged like the full list
+  @GetMapping(params = {"firstName", "lastName", "!fields", "!ids"})
+  public List<Employee> getEmployeesByName(@RequestParam("firstName") String firstName,
+      @RequestParam("lastName") String lastName,
+      @RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return employeeService.getEmployeesByName(firstName, lastName, afterId == null ? 0 : afterId, pageLimit(limit));
+  }
+
+  // type-ahead search answered from the in-memory index, best matches first
+  @GetMapping("search")
+  public List<Employee> searchEmployees(@RequestParam("q") String query,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    int searchLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT);
+    return employeeService.searchEmployees(query, searchLimit);
+  }
+
+  static int pageLimit(Integer limit) {
+    return limit == null ? DEFAULT_PAGE_LIMIT : Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT);
+  }
+
+  @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamEmployeesAsNdjson() {
+    ObjectWriter writer = objectMapper.writer().withRootValueSeparator("\n");
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(outputStream -> writeEmployees(writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writeValues(outputStream)));
+  }
+
+  @GetMapping(value = "stream", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamEmployeesAsJsonArray() {
+    ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(outputStream -> writeEmployees(writer.writeValuesAsArray(outputStream)));
+  }
+
+  private void writeEmployees(SequenceWriter sequenceWriter) throws IOException {
+    try (sequenceWriter) {
+      employeeService.streamAllEmployees(employee -> {
+        try {
+          sequenceWriter.write(employee);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+
+  // the whole table for a later import, streamed from a forward-only cursor
+  @GetMapping(value = "export", produces = EmployeeTransfer.TEXT_CSV_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEmployeesAsCsv() {
+    return exportEmployees(Format.CSV, MediaType.parseMediaType(EmployeeTransfer.TEXT_CSV_VALUE), "employees.csv");
+  }
+
+  @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEmployeesAsNdjson() {
+    return exportEmployees(Format.NDJSON, MediaType.APPLICATION_NDJSON, "employees.ndjson");
   }
 
+  private ResponseEntity<StreamingResponseBody> exportEmployees(Format format, MediaType contentType,
+      String fileName) {
+    return ResponseEntity.ok()
+        .contentType(contentType)
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+        .body(outputStream -> employeeTransfer.export(format, outputStream));
+  }
+
+  // upsert keyed on email of an export or any file with the same columns, parsed and saved incrementally
+  @PostMapping(value = "import", consumes = EmployeeTransfer.TEXT_CSV_VALUE)
+  public EmployeeImportResult importEmployeesFromCsv(InputStream inputStream) throws IOException {
+    return employeeTransfer.importFrom(Format.CSV, inputStream);
+  }
+
+  @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public EmployeeImportResult importEmployeesFromNdjson(InputStream inputStream) throws IOException {
+    return employeeTransfer.importFrom(Format.NDJSON, inputStream);
+  }
+
+  // the version is the ETag, a matching If-None-Match gets a 304 without the body being serialized
   @GetMapping("{id}")
   public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
     return employeeService.getEmployeeById(employeeId)
-        .map(ResponseEntity::ok)
+        .map(employee -> ResponseEntity.ok().eTag(eTag(employee.getVersion())).body(employee))
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
   @PutMapping("{id}")
-  public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee ) {
-    return employeeService.getEmployeeById(employeeId)
-        .map(savedEmployee -> {
-          savedEmployee.setFirstName(employee.getFirstName());
-          savedEmployee.setLastName(employee.getLastName());
-          savedEmployee.setEmail(employee.getEmail());
-           Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-           return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-        }).orElseGet(() -> ResponseEntity.notFound().build());
+  public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion = expectedVersion(employeeId, ifMatch);
+    return employeeService.updateEmployee(employeeId, employee, expectedVersion)
+        .map(updatedEmployee -> ResponseEntity.ok().eTag(eTag(updatedEmployee.getVersion())).body(updatedEmployee))
+        .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
+  // writes only the fields present in the body, the ETag is the version stored afterwards
+  @PatchMapping("{id}")
+  public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion = expectedVersion(employeeId, ifMatch);
+    return employeeService.patchEmployee(employeeId, employee, expectedVersion)
+        .map(version -> ResponseEntity.noContent().eTag(eTag(version)).<Void>build())
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  // in write-behind mode the employee is only queued: 202 with a tracking id, 429 when the queue is full
   @PostMapping
-  @ResponseStatus(HttpStatus.CREATED)
-  public Employee createEmployee(@RequestBody Employee employee) {
-    return employeeService.saveEmployee(employee);
+  public ResponseEntity<Object> createEmployee(@RequestBody Employee employee) {
+    if (writeBehindQueue == null) {
+      return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+    }
+    if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName())) {
+      return ResponseEntity.badRequest().body("firstName and lastName are required");
+    }
+    return writeBehindQueue.submit(employee)
+        .<ResponseEntity<Object>>map(trackingId -> ResponseEntity.accepted()
+            .location(URI.create("/api/employees/ingest/" + trackingId))
+            .body(EmployeeIngestStatus.queued(trackingId)))
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .build());
+  }
+
+  @GetMapping("ingest/{trackingId}")
+  public ResponseEntity<EmployeeIngestStatus> getIngestStatus(@PathVariable("trackingId") String trackingId) {
+    if (writeBehindQueue == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.of(writeBehindQueue.status(trackingId));
+  }
+
+  // accepts a JSON array or NDJSON, parsed incrementally and saved batchSize employees at a time
+  @PostMapping(value = "batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public List<EmployeeBatchResult> createEmployees(InputStream inputStream) throws IOException {
+    List<EmployeeBatchResult> results = new ArrayList<>();
+    List<Employee> batch = new ArrayList<>(batchSize);
+    try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(inputStream)) {
+      while (employees.hasNextValue()) {
+        batch.add(employees.nextValue());
+        if (batch.size() == batchSize) {
+          saveBatch(batch, results);
+        }
+      }
+    }
+    saveBatch(batch, results);
+    return results;
+  }
+
+  private void saveBatch(List<Employee> batch, List<EmployeeBatchResult> results) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    int offset = results.size();
+    employeeService.saveEmployees(batch).forEach(result -> results.add(result.withOffset(offset)));
+    batch.clear();
   }
 
   @DeleteMapping("{id}")
-  public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId) {
-    employeeService.deleteEmployeeById(employeeId);
+  public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion = expectedVersion(employeeId, ifMatch);
+    boolean deleted = expectedVersion == null
+        ? employeeService.deleteEmployeeById(employeeId)
+        : employeeService.deleteEmployeeById(employeeId, expectedVersion);
+    if (!deleted) {
+      return ResponseEntity.notFound().build();
+    }
     return new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK);
   }
+
+  // several employees at once, e.g. ?ids=1,2,3, answers the number of deleted employees
+  @DeleteMapping(params = "ids")
+  public ResponseEntity<Map<String, Integer>> deleteEmployees(@RequestParam("ids") List<Long> ids) {
+    if (ids.isEmpty() || ids.size() > MAX_PAGE_LIMIT || ids.contains(null)) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(Map.of("deleted", employeeService.deleteEmployeesByIds(ids)));
+  }
+
+  static String eTag(long version) {
+    return "\"" + version + "\"";
+  }
+
+  // the versions listed by an If-Match header, null when the write is unconditional (no header or "*").
+  // If-Match uses the strong comparison: weak tags and tags that are no version can never match and are left out
+  static List<Long> ifMatchVersions(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    List<Long> versions = new ArrayList<>();
+    Matcher entityTag = ENTITY_TAG.matcher(ifMatch);
+    while (entityTag.find()) {
+      if (entityTag.group(1) == null) {
+        try {
+          versions.add(Long.parseLong(entityTag.group(2)));
+        } catch (NumberFormatException e) {
+          // not one of ours
+        }
+      }
+    }
+    return versions;
+  }
+
+  // the version the conditional write has to find: the listed one, or of several the current version when it
+  // is listed. 412 when no listed tag can match; a missing employee is left to the write, which answers 404
+  static Long expectedVersion(long id, List<Long> versions, Long currentVersion) {
+    if (versions == null) {
+      return null;
+    }
+    if (versions.isEmpty() || (currentVersion != null && versions.size() > 1 && !versions.contains(currentVersion))) {
+      throw new VersionConflictException("Employee " + id + " matches none of the versions " + versions);
+    }
+    return versions.size() == 1 || currentVersion == null ? versions.get(0) : currentVersion;
+  }
+
+  // the current version is only read for a list of several tags
+  private Long expectedVersion(long id, String ifMatch) {
+    List<Long> versions = ifMatchVersions(ifMatch);
+    Long currentVersion = versions != null && versions.size() > 1
+        ? employeeService.getEmployeeVersion(id).orElse(null)
+        : null;
+    return expectedVersion(id, versions, currentVersion);
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
 }
@@ -0,0 +1,157 @@
+package net.tutorial.springboottesting.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// same contract as EmployeeController, served by WebFlux and R2DBC when the reactive profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+
+  private ReactiveEmployeeService employeeService;
+
+  @Value("${employee.batch.size:500}")
+  private int batchSize;
+
+  public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+    this.employeeService = employeeService;
+  }
+
+  // paged like EmployeeController.getAllEmployees, including the deprecated unbounded list without parameters and
+  // the 400 for a selection no mapping serves, e.g. ?ids=1 or a firstName without lastName
+  @GetMapping
+  public ResponseEntity<Flux<Employee>> getAllEmployees(@RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam Map<String, String> parameters) {
+    if (EmployeeController.SELECTION_PARAMS.stream().anyMatch(parameters::containsKey)) {
+      return ResponseEntity.badRequest().build();
+    }
+    if (afterId == null && limit == null) {
+      return ResponseEntity.ok()
+          .header(EmployeeController.DEPRECATION, "true")
+          .header(HttpHeaders.LINK, EmployeeController.FIRST_PAGE_LINK)
+          .body(employeeService.getAllEmployees());
+    }
+    return ResponseEntity.ok(employeeService.getEmployeesAfter(afterId == null ? 0 : afterId,
+        EmployeeController.pageLimit(limit)));
+  }
+
+  // EmployeeController.getEmployeeFields, e.g. ?fields=id,email
+  @GetMapping(params = {"fields", "!ids", "!firstName", "!lastName"})
+  public ResponseEntity<Flux<Map<String, Object>>> getEmployeeFields(@RequestParam("fields") List<String> fields,
+      @RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    List<String> requestedFields = EmployeeController.selectableFields(fields);
+    if (requestedFields == null) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(employeeService.getEmployeeFieldsAfter(requestedFields, afterId == null ? 0 : afterId,
+        EmployeeController.pageLimit(limit)));
+  }
+
+  @GetMapping(params = {"firstName", "lastName", "!fields", "!ids"})
+  public Flux<Employee> getEmployeesByName(@RequestParam("firstName") String firstName,
+      @RequestParam("lastName") String lastName,
+      @RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return employeeService.getEmployeesByName(firstName, lastName, afterId == null ? 0 : afterId,
+        EmployeeController.pageLimit(limit));
+  }
+
+  // the encoder requests rows as it writes them, a slow client slows down the database read
+  @GetMapping(value = "stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  public Flux<Employee> streamEmployees() {
+    return employeeService.getAllEmployees();
+  }
+
+  @GetMapping("{id}")
+  public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long employeeId) {
+    return employeeService.getEmployeeById(employeeId)
+        .map(employee -> ResponseEntity.ok().eTag(EmployeeController.eTag(employee.getVersion())).body(employee))
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @PutMapping("{id}")
+  public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long employeeId,
+      @RequestBody Employee employee,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return expectedVersion(employeeId, ifMatch)
+        .flatMap(expectedVersion -> employeeService.updateEmployee(employeeId, employee, expectedVersion.orElse(null)))
+        .map(updatedEmployee -> ResponseEntity.ok().eTag(EmployeeController.eTag(updatedEmployee.getVersion()))
+            .body(updatedEmployee))
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @PatchMapping("{id}")
+  public Mono<ResponseEntity<Void>> patchEmployee(@PathVariable("id") long employeeId,
+      @RequestBody Employee employee,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return expectedVersion(employeeId, ifMatch)
+        .flatMap(expectedVersion -> employeeService.patchEmployee(employeeId, employee, expectedVersion.orElse(null)))
+        .map(version -> ResponseEntity.noContent().eTag(EmployeeController.eTag(version)).<Void>build())
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+    return employeeService.saveEmployee(employee);
+  }
+
+  // the body is decoded element by element and saved batchSize employees at a time
+  @PostMapping(value = "batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public Flux<EmployeeBatchResult> createEmployees(@RequestBody Flux<Employee> employees) {
+    return employees.buffer(batchSize)
+        .index()
+        .concatMap(batch -> employeeService.saveEmployees(batch.getT2())
+            .map(result -> result.withOffset((int) (batch.getT1() * batchSize))));
+  }
+
+  @DeleteMapping("{id}")
+  public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Mono<Boolean> deleted = expectedVersion(employeeId, ifMatch)
+        .flatMap(expectedVersion -> expectedVersion.isEmpty()
+            ? employeeService.deleteEmployeeById(employeeId)
+            : employeeService.deleteEmployeeById(employeeId, expectedVersion.get()));
+    return deleted.map(found -> found
+        ? new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK)
+        : ResponseEntity.<String>notFound().build());
+  }
+
+  // EmployeeController.expectedVersion, empty when the write is unconditional
+  private Mono<Optional<Long>> expectedVersion(long id, String ifMatch) {
+    List<Long> versions = EmployeeController.ifMatchVersions(ifMatch);
+    Mono<Optional<Long>> currentVersion = versions != null && versions.size() > 1
+        ? employeeService.getEmployeeById(id).map(employee -> Optional.of(employee.getVersion()))
+            .defaultIfEmpty(Optional.empty())
+        : Mono.just(Optional.empty());
+    return currentVersion.map(version -> Optional.ofNullable(
+        EmployeeController.expectedVersion(id, versions, version.orElse(null))));
+  }
+}
@@ -0,0 +1,26 @@
+package net.tutorial.springboottesting.dto;
+
+public record EmployeeBatchResult(int index, Status status, Long id, String message) {
+
+  public enum Status {
+    CREATED,
+    DUPLICATE,
+    INVALID
+  }
+
+  public static EmployeeBatchResult created(int index, long id) {
+    return new EmployeeBatchResult(index, Status.CREATED, id, null);
+  }
+
+  public static EmployeeBatchResult duplicate(int index, String email) {
+    return new EmployeeBatchResult(index, Status.DUPLICATE, null, "Employee already exist with given email: " + email);
+  }
+
+  public static EmployeeBatchResult invalid(int index, String message) {
+    return new EmployeeBatchResult(index, Status.INVALID, null, message);
+  }
+
+  public EmployeeBatchResult withOffset(int offset) {
+    return new EmployeeBatchResult(index + offset, status, id, message);
+  }
+}
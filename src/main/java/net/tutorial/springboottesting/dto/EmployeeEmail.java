@@ -0,0 +1,5 @@
+package net.tutorial.springboottesting.dto;
+
+public record EmployeeEmail(long id, String email) {
+
+}
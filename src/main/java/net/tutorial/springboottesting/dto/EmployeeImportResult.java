@@ -0,0 +1,11 @@
+package net.tutorial.springboottesting.dto;
+
+// row counts of an import, a row whose email already exists updates that employee
+public record EmployeeImportResult(long inserted, long updated, long invalid) {
+
+  public static final EmployeeImportResult EMPTY = new EmployeeImportResult(0, 0, 0);
+
+  public EmployeeImportResult plus(EmployeeImportResult other) {
+    return new EmployeeImportResult(inserted + other.inserted, updated + other.updated, invalid + other.invalid);
+  }
+}
@@ -0,0 +1,24 @@
+package net.tutorial.springboottesting.dto;
+
+public record EmployeeIngestStatus(String trackingId, State state, Long id, String message) {
+
+  public enum State {
+    QUEUED,
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+  }
+
+  public static EmployeeIngestStatus queued(String trackingId) {
+    return new EmployeeIngestStatus(trackingId, State.QUEUED, null, null);
+  }
+
+  public static EmployeeIngestStatus of(String trackingId, EmployeeBatchResult result) {
+    return new EmployeeIngestStatus(trackingId, State.valueOf(result.status().name()), result.id(), result.message());
+  }
+
+  public static EmployeeIngestStatus failed(String trackingId, String message) {
+    return new EmployeeIngestStatus(trackingId, State.FAILED, null, message);
+  }
+}
@@ -0,0 +1,9 @@
+package net.tutorial.springboottesting.dto;
+
+import java.util.List;
+import net.tutorial.springboottesting.model.Employee;
+
+// the employees found, in the order their ids were requested, and the ids that do not exist
+public record EmployeeLookupResult(List<Employee> employees, List<Long> missingIds) {
+
+}
@@ -0,0 +1,4 @@
+package net.tutorial.springboottesting.dto;
+
+public record EmployeeSearchEntry(long id, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,5 @@
+package net.tutorial.springboottesting.dto;
+
+public record EmployeeSummary(long id, String firstName, String lastName) {
+
+}
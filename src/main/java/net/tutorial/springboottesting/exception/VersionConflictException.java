@@ -0,0 +1,13 @@
+package net.tutorial.springboottesting.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersionConflictException extends RuntimeException {
+
+  public VersionConflictException(String message) {
+    super(message);
+  }
+
+}
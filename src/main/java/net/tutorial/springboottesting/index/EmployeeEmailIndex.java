@@ -0,0 +1,88 @@
+package net.tutorial.springboottesting.index;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import net.tutorial.springboottesting.dto.EmployeeEmail;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// In-memory email -> id index used to answer duplicate checks without a database round trip.
+// The unique constraint on employees.email stays the source of truth: a hit is confirmed
+// against the database and a miss is caught by the constraint on insert.
+@Component
+@Profile("!reactive")
+public class EmployeeEmailIndex {
+
+  private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+  private final Map<Long, String> emailsById = new ConcurrentHashMap<>();
+
+  private EmployeeRepository employeeRepository;
+
+  public EmployeeEmailIndex(EmployeeRepository employeeRepository) {
+    this.employeeRepository = employeeRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public synchronized void reload() {
+    idsByEmail.clear();
+    emailsById.clear();
+    try (Stream<EmployeeEmail> employeeEmails = employeeRepository.streamAllEmails()) {
+      employeeEmails.forEach(employeeEmail -> put(employeeEmail.id(), employeeEmail.email()));
+    }
+  }
+
+  public boolean contains(String email) {
+    return email != null && idsByEmail.containsKey(normalize(email));
+  }
+
+  public Optional<Long> findId(String email) {
+    return email == null ? Optional.empty() : Optional.ofNullable(idsByEmail.get(normalize(email)));
+  }
+
+  public synchronized void put(long id, String email) {
+    remove(id);
+    if (email == null) {
+      return;
+    }
+    String key = normalize(email);
+    Long previousId = idsByEmail.put(key, id);
+    if (previousId != null && previousId != id) {
+      emailsById.remove(previousId, key);
+    }
+    emailsById.put(id, key);
+  }
+
+  public synchronized void remove(long id) {
+    String key = emailsById.remove(id);
+    if (key != null) {
+      idsByEmail.remove(key, id);
+    }
+  }
+
+  public synchronized void removeEmail(String email) {
+    if (email == null) {
+      return;
+    }
+    Long id = idsByEmail.remove(normalize(email));
+    if (id != null) {
+      emailsById.remove(id);
+    }
+  }
+
+  public int size() {
+    return idsByEmail.size();
+  }
+
+  // MySQL compares emails with a case-insensitive collation, so the index does the same
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
+  }
+}
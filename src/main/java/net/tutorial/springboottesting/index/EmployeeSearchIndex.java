@@ -0,0 +1,551 @@
+package net.tutorial.springboottesting.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import net.tutorial.springboottesting.dto.EmployeeSearchEntry;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// In-memory trigram index over first name, last name and the local part of the email, used by the
+// type-ahead search. Each token is indexed as "^" + token so prefixes share the leading grams, a query
+// matches an employee when at least half of its grams do, results are ranked by the share of matching
+// grams plus a bonus for prefix and exact token matches.
+// The usual type-ahead query is answered without the gram postings: the employees with a token starting with
+// every query token match all of its grams and earn every token bonus, when the k-th best of them scores above
+// what any other employee can reach they are the result. They are found through a sorted dictionary of the
+// tokens and the postings of every token prefix up to PREFIX_LENGTH characters, both kept in employee id order
+// so that a scan stops once the top-k is settled. Other queries count matching grams over the postings, rarest
+// gram first.
+// Kept up to date by EmployeeServiceImpl, reload() rebuilds it from the database without blocking searches.
+@Component
+@Profile("!reactive")
+public class EmployeeSearchIndex {
+
+  private static final char TOKEN_START = '^';
+  private static final double MAX_TOKEN_BONUS = 2;
+  private static final int MIN_SWEEP_SIZE = 1024;
+  private static final int PREFIX_LENGTH = 3;
+  // best score first, the lower id wins a tie
+  private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score)
+      .thenComparingLong(hit -> -hit.document().id());
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private EmployeeRepository employeeRepository;
+
+  // guarded by lock
+  private Segment segment = new Segment();
+  // writes made while reload() builds a new segment, replayed on it before the swap
+  private List<Consumer<Segment>> pendingWrites;
+  // one match counter per document, borrowed by a search and handed back zeroed
+  private final Queue<int[]> matchCounters = new ConcurrentLinkedQueue<>();
+
+  public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+    this.employeeRepository = employeeRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public synchronized void reload() {
+    write(() -> pendingWrites = new ArrayList<>());
+    Segment rebuilt = new Segment();
+    try (Stream<EmployeeSearchEntry> entries = employeeRepository.streamAllSearchEntries()) {
+      entries.forEach(entry -> rebuilt.put(entry.id(), entry.firstName(), entry.lastName(), entry.email()));
+      write(() -> {
+        pendingWrites.forEach(pendingWrite -> pendingWrite.accept(rebuilt));
+        segment = rebuilt;
+      });
+    } finally {
+      write(() -> pendingWrites = null);
+    }
+  }
+
+  public void put(long id, String firstName, String lastName, String email) {
+    apply(segment -> segment.put(id, firstName, lastName, email));
+  }
+
+  // merges the non-null fields into the indexed employee, used after a partial update
+  public void patch(long id, String firstName, String lastName, String email) {
+    apply(segment -> segment.patch(id, firstName, lastName, email));
+  }
+
+  public void remove(long id) {
+    apply(segment -> segment.remove(id));
+  }
+
+  public List<Employee> search(String query, int limit) {
+    lock.readLock().lock();
+    int[] matchCounts = matchCounters.poll();
+    try {
+      if (matchCounts == null || matchCounts.length < segment.documents.length) {
+        matchCounts = new int[segment.documents.length];
+      }
+      return segment.search(query, limit, matchCounts);
+    } finally {
+      lock.readLock().unlock();
+      matchCounters.offer(matchCounts);
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return segment.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void apply(Consumer<Segment> change) {
+    write(() -> {
+      change.accept(segment);
+      if (pendingWrites != null) {
+        pendingWrites.add(change);
+      }
+    });
+  }
+
+  private void write(Runnable runnable) {
+    lock.writeLock().lock();
+    try {
+      runnable.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // tokens are kept with the document so ranking a candidate does not tokenize it again
+  private record Document(long id, String firstName, String lastName, String email, List<String> tokens) {
+
+    static Document of(long id, String firstName, String lastName, String email) {
+      List<String> tokens = new ArrayList<>();
+      addTokens(firstName, tokens);
+      addTokens(lastName, tokens);
+      // the domain is shared by most employees and would only add noise
+      if (email != null) {
+        int at = email.indexOf('@');
+        addTokens(at < 0 ? email : email.substring(0, at), tokens);
+      }
+      return new Document(id, firstName, lastName, email, List.copyOf(tokens));
+    }
+  }
+
+  private record Hit(Document document, double score) {
+  }
+
+  // growable int array holding the documents of one gram, token or token prefix
+  private static final class Postings {
+
+    private int[] documents = new int[4];
+    private int size;
+
+    void add(int document) {
+      if (size == documents.length) {
+        documents = Arrays.copyOf(documents, size * 2);
+      }
+      documents[size++] = document;
+    }
+
+    // keeps the documents in employee id order: a new employee has the highest id and is appended, an updated
+    // one is moved into place
+    void insert(int document, long[] employeeIds) {
+      long id = employeeIds[document];
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (employeeIds[documents[middle]] <= id) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      if (size == documents.length) {
+        documents = Arrays.copyOf(documents, size * 2);
+      }
+      System.arraycopy(documents, low, documents, low + 1, size - low);
+      documents[low] = document;
+      size++;
+    }
+
+    // drops the removed documents in one pass, keeping the order of the others
+    void sweep(Document[] live) {
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        if (live[documents[i]] != null) {
+          documents[kept++] = documents[i];
+        }
+      }
+      size = kept;
+    }
+  }
+
+  private static final class Segment {
+
+    private final Map<Long, Integer> documentsByEmployeeId = new HashMap<>();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private final NavigableMap<String, Postings> postingsByToken = new TreeMap<>();
+    private final Map<String, Postings> postingsByPrefix = new HashMap<>();
+    private final Deque<Integer> freeDocuments = new ArrayDeque<>();
+    // removed documents stay in the postings until a sweep, their slots are only reused after it
+    private final List<Integer> removedDocuments = new ArrayList<>();
+    private Document[] documents = new Document[1024];
+    // the employee id of every document, read by the prefix scan without loading the documents
+    private long[] employeeIds = new long[1024];
+    private int documentSlots;
+
+    void put(long id, String firstName, String lastName, String email) {
+      remove(id);
+      int document = freeDocuments.isEmpty() ? documentSlots++ : freeDocuments.pop();
+      if (document == documents.length) {
+        documents = Arrays.copyOf(documents, documents.length * 2);
+        employeeIds = Arrays.copyOf(employeeIds, employeeIds.length * 2);
+      }
+      documents[document] = Document.of(id, firstName, lastName, email);
+      employeeIds[document] = id;
+      documentsByEmployeeId.put(id, document);
+      for (long gram : documentGrams(documents[document].tokens())) {
+        postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(document);
+      }
+      Set<String> prefixes = new HashSet<>();
+      for (String token : new LinkedHashSet<>(documents[document].tokens())) {
+        postingsByToken.computeIfAbsent(token, key -> new Postings()).insert(document, employeeIds);
+        for (int length = 1; length <= Math.min(PREFIX_LENGTH, token.length()); length++) {
+          prefixes.add(token.substring(0, length));
+        }
+      }
+      for (String prefix : prefixes) {
+        postingsByPrefix.computeIfAbsent(prefix, key -> new Postings()).insert(document, employeeIds);
+      }
+    }
+
+    void patch(long id, String firstName, String lastName, String email) {
+      Integer document = documentsByEmployeeId.get(id);
+      if (document == null) {
+        return;
+      }
+      Document current = documents[document];
+      put(id,
+          firstName != null ? firstName : current.firstName(),
+          lastName != null ? lastName : current.lastName(),
+          email != null ? email : current.email());
+    }
+
+    // removing from the postings right away would scan the postings of every gram of the document, common
+    // grams are shared by a large part of the employees; the sweep runs once a quarter of the documents
+    // are removed ones, which keeps removal cheap on average and searches at most a third slower
+    void remove(long id) {
+      Integer document = documentsByEmployeeId.remove(id);
+      if (document == null) {
+        return;
+      }
+      documents[document] = null;
+      removedDocuments.add(document);
+      if (removedDocuments.size() > Math.max(MIN_SWEEP_SIZE, documentsByEmployeeId.size() / 3)) {
+        sweep();
+      }
+    }
+
+    private void sweep() {
+      postingsByGram.values().removeIf(postings -> {
+        postings.sweep(documents);
+        return postings.size == 0;
+      });
+      postingsByToken.values().removeIf(postings -> {
+        postings.sweep(documents);
+        return postings.size == 0;
+      });
+      postingsByPrefix.values().removeIf(postings -> {
+        postings.sweep(documents);
+        return postings.size == 0;
+      });
+      removedDocuments.forEach(freeDocuments::push);
+      removedDocuments.clear();
+    }
+
+    int size() {
+      return documentsByEmployeeId.size();
+    }
+
+    List<Employee> search(String query, int limit, int[] matchCounts) {
+      List<String> queryTokens = new ArrayList<>();
+      addTokens(query, queryTokens);
+      long[] queryGrams = queryGrams(queryTokens);
+      if (queryGrams.length == 0 || limit <= 0) {
+        return List.of();
+      }
+      PriorityQueue<Hit> prefixMatches = searchPrefixes(queryTokens, limit);
+      // any other employee misses the bonus of at least one query token
+      double othersMaxScore = 1 + MAX_TOKEN_BONUS * (queryTokens.size() - 1) / queryTokens.size();
+      if (prefixMatches.size() == limit && prefixMatches.peek().score() > othersMaxScore) {
+        return ranked(prefixMatches);
+      }
+      // count the matching grams of every candidate, rarest gram first: once fewer grams are left than a
+      // candidate needs, an employee not seen yet cannot qualify and the remaining postings only add to the
+      // counts of the candidates found so far
+      int minimumMatches = (queryGrams.length + 1) / 2;
+      List<Postings> queryPostings = new ArrayList<>(queryGrams.length);
+      for (long gram : queryGrams) {
+        Postings postings = postingsByGram.get(gram);
+        if (postings != null) {
+          queryPostings.add(postings);
+        }
+      }
+      queryPostings.sort(Comparator.comparingInt(postings -> postings.size));
+      // grams without postings match nothing, they count as scanned
+      int remainingGrams = queryPostings.size();
+      Postings candidates = new Postings();
+      for (Postings postings : queryPostings) {
+        boolean newCandidates = remainingGrams-- >= minimumMatches;
+        for (int i = 0; i < postings.size; i++) {
+          int document = postings.documents[i];
+          if (matchCounts[document] > 0) {
+            matchCounts[document]++;
+          } else if (newCandidates) {
+            matchCounts[document] = 1;
+            candidates.add(document);
+          }
+        }
+      }
+      PriorityQueue<Hit> top = new PriorityQueue<>(limit, RANKING);
+      for (int i = 0; i < candidates.size; i++) {
+        int document = candidates.documents[i];
+        int matches = matchCounts[document];
+        matchCounts[document] = 0;
+        if (matches < minimumMatches || documents[document] == null) {
+          continue;
+        }
+        // a query token only earns its bonus when all of its grams match, so with grams missing at least
+        // one token earns nothing; skip candidates whose best possible score cannot reach the top
+        double gramScore = (double) matches / queryGrams.length;
+        double maxBonus = matches == queryGrams.length
+            ? MAX_TOKEN_BONUS
+            : MAX_TOKEN_BONUS * (queryTokens.size() - 1) / queryTokens.size();
+        if (top.size() == limit && gramScore + maxBonus < top.peek().score()) {
+          continue;
+        }
+        Document candidate = documents[document];
+        Hit hit = new Hit(candidate,
+            gramScore + tokenBonus(queryTokens, candidate.tokens()));
+        if (top.size() < limit) {
+          top.add(hit);
+        } else if (RANKING.compare(hit, top.peek()) > 0) {
+          top.poll();
+          top.add(hit);
+        }
+      }
+      return ranked(top);
+    }
+
+    // the top-k among the employees with a token starting with every query token, scored like search() does:
+    // they match all query grams, so the score is 1 plus their token bonus
+    private PriorityQueue<Hit> searchPrefixes(List<String> queryTokens, int limit) {
+      PriorityQueue<Hit> top = new PriorityQueue<>(limit, RANKING);
+      if (queryTokens.size() == 1) {
+        // one query token scores 1 + MAX_TOKEN_BONUS on an exact token and 2 on a longer one, within each
+        // level the lowest ids win
+        String queryToken = queryTokens.get(0);
+        Postings exact = postingsByToken.get(queryToken);
+        if (exact != null) {
+          offerInIdOrder(exact, 1 + MAX_TOKEN_BONUS, limit, top);
+        }
+        if (top.size() < limit) {
+          for (Postings postings : postingsStartingWith(queryToken)) {
+            offerInIdOrder(postings, 2, limit, top);
+          }
+        }
+        return top;
+      }
+      // several query tokens: the one with the fewest employees drives the scan, the others are checked on the
+      // tokens of each candidate
+      Collection<Postings> rarest = List.of();
+      int rarestSize = Integer.MAX_VALUE;
+      for (String queryToken : queryTokens) {
+        Collection<Postings> candidates = postingsStartingWith(queryToken);
+        int size = 0;
+        for (Postings postings : candidates) {
+          size += postings.size;
+          if (size >= rarestSize) {
+            break;
+          }
+        }
+        if (size < rarestSize) {
+          rarest = candidates;
+          rarestSize = size;
+        }
+      }
+      for (Postings postings : rarest) {
+        for (int i = 0; i < postings.size; i++) {
+          Document candidate = documents[postings.documents[i]];
+          if (candidate == null || contains(top, candidate)) {
+            continue;
+          }
+          double bonus = 0;
+          for (String queryToken : queryTokens) {
+            double best = tokenBonus(queryToken, candidate.tokens());
+            if (best == 0) {
+              bonus = 0;
+              break;
+            }
+            bonus += best;
+          }
+          if (bonus > 0) {
+            offer(new Hit(candidate, 1 + bonus / queryTokens.size()), limit, top);
+          }
+        }
+      }
+      return top;
+    }
+
+    // the postings of the tokens starting with the prefix, a single list up to PREFIX_LENGTH characters
+    private Collection<Postings> postingsStartingWith(String prefix) {
+      if (prefix.length() <= PREFIX_LENGTH) {
+        Postings postings = postingsByPrefix.get(prefix);
+        return postings == null ? List.of() : List.of(postings);
+      }
+      return postingsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    // offers the live documents of the postings with the same score in id order: once the top-k is full a
+    // document only enters with a lower id than the last one, the first that does not ends the scan
+    private void offerInIdOrder(Postings postings, double score, int limit, PriorityQueue<Hit> top) {
+      for (int i = 0; i < postings.size; i++) {
+        int document = postings.documents[i];
+        if (documents[document] == null || contains(top, documents[document])) {
+          continue;
+        }
+        if (top.size() == limit) {
+          Hit last = top.peek();
+          if (score < last.score() || (score == last.score() && employeeIds[document] > last.document().id())) {
+            return;
+          }
+        }
+        offer(new Hit(documents[document], score), limit, top);
+      }
+    }
+  }
+
+  // a document with several tokens starting with the query is found once per token
+  private static boolean contains(PriorityQueue<Hit> top, Document document) {
+    for (Hit hit : top) {
+      if (hit.document() == document) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void offer(Hit hit, int limit, PriorityQueue<Hit> top) {
+    if (top.size() < limit) {
+      top.add(hit);
+    } else if (RANKING.compare(hit, top.peek()) > 0) {
+      top.poll();
+      top.add(hit);
+    }
+  }
+
+  private static List<Employee> ranked(PriorityQueue<Hit> top) {
+    List<Hit> hits = new ArrayList<>(top);
+    hits.sort(RANKING.reversed());
+    return hits.stream()
+        .map(hit -> Employee.builder()
+            .id(hit.document().id())
+            .firstName(hit.document().firstName())
+            .lastName(hit.document().lastName())
+            .email(hit.document().email())
+            .build())
+        .toList();
+  }
+
+  // share of query tokens that start a document token, exact token matches count double
+  private static double tokenBonus(List<String> queryTokens, List<String> documentTokens) {
+    double bonus = 0;
+    for (String queryToken : queryTokens) {
+      bonus += tokenBonus(queryToken, documentTokens);
+    }
+    return bonus / queryTokens.size();
+  }
+
+  private static double tokenBonus(String queryToken, List<String> documentTokens) {
+    double best = 0;
+    for (String documentToken : documentTokens) {
+      if (documentToken.equals(queryToken)) {
+        return MAX_TOKEN_BONUS;
+      }
+      if (documentToken.startsWith(queryToken)) {
+        best = 1;
+      }
+    }
+    return best;
+  }
+
+  private static void addTokens(String value, List<String> tokens) {
+    if (value == null) {
+      return;
+    }
+    for (String token : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+  }
+
+  // every token contributes its one-letter prefix gram and its trigrams
+  private static long[] documentGrams(List<String> tokens) {
+    Set<Long> grams = new LinkedHashSet<>();
+    for (String token : tokens) {
+      grams.add(gram(TOKEN_START, token.charAt(0), (char) 0));
+      addTrigrams(token, grams);
+    }
+    return grams.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  // a one-letter query token can only be looked up by its prefix gram, longer ones use their trigrams
+  private static long[] queryGrams(List<String> tokens) {
+    Set<Long> grams = new LinkedHashSet<>();
+    for (String token : tokens) {
+      if (token.length() == 1) {
+        grams.add(gram(TOKEN_START, token.charAt(0), (char) 0));
+      } else {
+        addTrigrams(token, grams);
+      }
+    }
+    return grams.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  private static void addTrigrams(String token, Set<Long> grams) {
+    String padded = TOKEN_START + token;
+    for (int i = 0; i + 2 < padded.length(); i++) {
+      grams.add(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+    }
+  }
+
+  private static long gram(char first, char second, char third) {
+    return ((long) first << 32) | ((long) second << 16) | third;
+  }
+}
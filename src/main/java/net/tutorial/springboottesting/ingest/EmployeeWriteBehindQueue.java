@@ -0,0 +1,180 @@
+package net.tutorial.springboottesting.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeIngestStatus;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// employee.ingest.mode=write-behind acknowledges POST /api/employees once the employee is queued,
+// a single writer thread saves the queue in batches of employee.batch.size through saveEmployees.
+// The queue lives in memory only: what is still queued when the process dies is lost, a graceful
+// shutdown (stop()) flushes it first. A batch that cannot be saved as a whole is written again one employee at
+// a time, so only the rows that fail on their own end up FAILED. The outcome of every tracking id is kept for
+// statusRetention.
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.ingest.mode", havingValue = "write-behind")
+public class EmployeeWriteBehindQueue implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindQueue.class);
+
+  private record Entry(String trackingId, Employee employee) {
+  }
+
+  private EmployeeService employeeService;
+  private int batchSize;
+
+  private final BlockingQueue<Entry> queue;
+  private final Cache<String, EmployeeIngestStatus> statuses;
+  private volatile boolean running;
+  private Thread writer;
+
+  public EmployeeWriteBehindQueue(EmployeeService employeeService,
+      @Value("${employee.ingest.queue-capacity:10000}") int capacity,
+      @Value("${employee.batch.size:500}") int batchSize,
+      @Value("${employee.ingest.status-retention:1h}") Duration statusRetention) {
+    this.employeeService = employeeService;
+    this.batchSize = batchSize;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.statuses = Caffeine.newBuilder().expireAfterWrite(statusRetention).build();
+  }
+
+  // the tracking id of the queued employee, empty when the queue is full
+  public Optional<String> submit(Employee employee) {
+    String trackingId = UUID.randomUUID().toString();
+    statuses.put(trackingId, EmployeeIngestStatus.queued(trackingId));
+    if (!queue.offer(new Entry(trackingId, employee))) {
+      statuses.invalidate(trackingId);
+      return Optional.empty();
+    }
+    return Optional.of(trackingId);
+  }
+
+  public Optional<EmployeeIngestStatus> status(String trackingId) {
+    return Optional.ofNullable(statuses.getIfPresent(trackingId));
+  }
+
+  public int queued() {
+    return queue.size();
+  }
+
+  // saves everything queued so far on the calling thread
+  public void flush() {
+    List<Entry> batch = new ArrayList<>(batchSize);
+    while (queue.drainTo(batch, batchSize) > 0) {
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    running = true;
+    writer = new Thread(this::writeLoop, "employee-write-behind");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  // the writer finishes its current batch, what is left is flushed before the connection pool closes
+  @Override
+  public synchronized void stop() {
+    running = false;
+    try {
+      writer.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // started before and stopped after the web server, so no request is queued after the final flush
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 2048;
+  }
+
+  private void writeLoop() {
+    List<Entry> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        Entry first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        // whatever queued up while the previous batch was written goes into this one
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+        batch.clear();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void write(List<Entry> batch) {
+    List<Employee> employees = batch.stream().map(Entry::employee).toList();
+    try {
+      updateStatuses(batch, employeeService.saveEmployees(employees));
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        fail(batch.get(0), e);
+        return;
+      }
+      // one bad row rolls back the whole batch, the rows are retried one by one so only the bad ones fail
+      log.warn("Failed to write {} queued employees as one batch, writing them one by one", batch.size(), e);
+      writeOneByOne(batch);
+    }
+  }
+
+  private void writeOneByOne(List<Entry> batch) {
+    List<String> failedTrackingIds = new ArrayList<>();
+    for (Entry entry : batch) {
+      try {
+        updateStatuses(List.of(entry), employeeService.saveEmployees(List.of(entry.employee())));
+      } catch (RuntimeException e) {
+        fail(entry, e);
+        failedTrackingIds.add(entry.trackingId());
+      }
+    }
+    if (!failedTrackingIds.isEmpty()) {
+      log.warn("Failed to write {} of {} queued employees, tracking ids {}", failedTrackingIds.size(), batch.size(),
+          failedTrackingIds);
+    }
+  }
+
+  private void updateStatuses(List<Entry> entries, List<EmployeeBatchResult> results) {
+    for (int i = 0; i < entries.size(); i++) {
+      String trackingId = entries.get(i).trackingId();
+      statuses.put(trackingId, EmployeeIngestStatus.of(trackingId, results.get(i)));
+    }
+  }
+
+  private void fail(Entry entry, RuntimeException e) {
+    log.warn("Failed to write queued employee {}", entry.trackingId(), e);
+    statuses.put(entry.trackingId(), EmployeeIngestStatus.failed(entry.trackingId(), e.getMessage()));
+  }
+}
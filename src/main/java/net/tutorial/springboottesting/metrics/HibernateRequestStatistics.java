@@ -0,0 +1,54 @@
+package net.tutorial.springboottesting.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+// Counts the SQL statements Hibernate prepares and the entities it loads on the current thread
+// between begin() and end(). Statements sent through JdbcTemplate bypass Hibernate and are not counted.
+public class HibernateRequestStatistics implements StatementInspector, Interceptor {
+
+  private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+  public static final class Counts {
+
+    private int statements;
+    private int entityLoads;
+
+    public int statements() {
+      return statements;
+    }
+
+    public int entityLoads() {
+      return entityLoads;
+    }
+  }
+
+  public void begin() {
+    CURRENT.set(new Counts());
+  }
+
+  public Counts end() {
+    Counts counts = CURRENT.get();
+    CURRENT.remove();
+    return counts == null ? new Counts() : counts;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    Counts counts = CURRENT.get();
+    if (counts != null) {
+      counts.statements++;
+    }
+    return sql;
+  }
+
+  @Override
+  public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+    Counts counts = CURRENT.get();
+    if (counts != null) {
+      counts.entityLoads++;
+    }
+    return false;
+  }
+}
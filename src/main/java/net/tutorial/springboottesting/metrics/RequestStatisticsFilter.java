@@ -0,0 +1,50 @@
+package net.tutorial.springboottesting.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Records the Hibernate statements and entity loads of each request, tagged like http.server.requests.
+// Work done on another thread, such as the body of a streamed response, is not attributed to the request.
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+  private HibernateRequestStatistics statistics;
+  private MeterRegistry meterRegistry;
+
+  public RequestStatisticsFilter(HibernateRequestStatistics statistics, MeterRegistry meterRegistry) {
+    this.statistics = statistics;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    statistics.begin();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      HibernateRequestStatistics.Counts counts = statistics.end();
+      Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      Tags tags = Tags.of("method", request.getMethod(), "uri", uri == null ? "UNKNOWN" : uri.toString());
+      summary("employee.request.statements", "SQL statements prepared by Hibernate per request", tags)
+          .record(counts.statements());
+      summary("employee.request.entity.loads", "Entities loaded by Hibernate per request", tags)
+          .record(counts.entityLoads());
+    }
+  }
+
+  private DistributionSummary summary(String name, String description, Tags tags) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .tags(tags)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,84 @@
+package net.tutorial.springboottesting.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Base of the data migrations on large tables, subclasses live in db.migration like V1__Create_employees.
+// Rows are updated in chunks of spring.flyway.placeholders.backfill-batch-size consecutive ids, each chunk in its
+// own transaction: no statement locks more than one chunk, the undo log stays small and replicas apply small
+// transactions. A chunk is walked by keyset on the primary key, gaps in the ids do not shrink it. A failed run keeps
+// the chunks it committed, the rerun after flyway repair skips the rows no longer matching pendingRows().
+public abstract class BatchedBackfillMigration extends BaseJavaMigration {
+
+  static final String BATCH_SIZE_PLACEHOLDER = "backfill-batch-size";
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private static final Logger log = LoggerFactory.getLogger(BatchedBackfillMigration.class);
+
+  // the SET clause of the update, e.g. "email = lower(email)"
+  protected abstract String assignments();
+
+  // the rows still to migrate, e.g. "email <> lower(email)"
+  protected abstract String pendingRows();
+
+  protected String table() {
+    return "employees";
+  }
+
+  // every chunk commits on its own, Flyway must not wrap the migration in one transaction
+  @Override
+  public boolean canExecuteInTransaction() {
+    return false;
+  }
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    String batchSize = context.getConfiguration().getPlaceholders().get(BATCH_SIZE_PLACEHOLDER);
+    long updatedRows = backfill(context.getConnection(),
+        batchSize == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(batchSize));
+    log.info("{} updated {} rows of {}", getDescription(), updatedRows, table());
+  }
+
+  // returns the number of updated rows
+  long backfill(Connection connection, int batchSize) throws SQLException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    long updatedRows = 0;
+    try (PreparedStatement nextChunk = connection.prepareStatement("select max(id) from (select id from "
+            + table() + " where id > ? order by id limit ?) chunk");
+        PreparedStatement update = connection.prepareStatement("update " + table() + " set " + assignments()
+            + " where id > ? and id <= ? and (" + pendingRows() + ")")) {
+      long afterId = Long.MIN_VALUE;
+      while (true) {
+        nextChunk.setLong(1, afterId);
+        nextChunk.setInt(2, batchSize);
+        long lastId;
+        try (ResultSet chunk = nextChunk.executeQuery()) {
+          chunk.next();
+          lastId = chunk.getLong(1);
+          if (chunk.wasNull()) {
+            break;
+          }
+        }
+        update.setLong(1, afterId);
+        update.setLong(2, lastId);
+        updatedRows += update.executeUpdate();
+        connection.commit();
+        log.debug("{} migrated ids up to {}", getDescription(), lastId);
+        afterId = lastId;
+      }
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+    return updatedRows;
+  }
+}
@@ -1,16 +1,25 @@
 package net.tutorial.springboottesting.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.time.Instant;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
 
 @Setter
 @Getter
@@ -18,9 +27,26 @@ import lombok.Setter;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+// the unique constraint also serves as the index for email lookups
+@Table(name = "employees", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_employees_email", columnNames = "email")
+}, indexes = {
+    @Index(name = "idx_employees_first_name_last_name", columnList = "first_name, last_name"),
+    @Index(name = "idx_employees_deleted_at", columnList = "deleted_at")
+})
+// soft deleted rows are invisible to every JPA query until EmployeeTombstonePurger removes them
+@Where(clause = "deleted_at is null")
+// second-level cache region, no JPQL bulk statement writes employees as Hibernate would clear the whole region,
+// the JDBC writes in EmployeeRepositoryCustomImpl evict only the ids they wrote
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
 public class Employee {
+
+  public static final String CACHE_REGION = "employee";
+
   @Id
+  // identifier for the R2DBC mapping used by the reactive profile
+  @org.springframework.data.annotation.Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private long id;
   @Column(name = "first_name", nullable = false)
@@ -29,5 +55,14 @@ public class Employee {
   private String lastName;
   @Column
   private String email;
+  // exposed to clients as the ETag, not as part of the body
+  @Version
+  @JsonIgnore
+  private long version;
+  // set by a soft delete, not mapped for R2DBC since the reactive profile only writes it with its own statements
+  @Column(name = "deleted_at")
+  @JsonIgnore
+  @org.springframework.data.annotation.Transient
+  private Instant deletedAt;
 
 }
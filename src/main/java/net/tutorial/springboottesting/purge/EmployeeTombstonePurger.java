@@ -0,0 +1,44 @@
+package net.tutorial.springboottesting.purge;
+
+import java.util.List;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// With employee.delete.mode=soft a delete only marks the row, this removes the marked rows every
+// employee.delete.purge-interval, batchSize rows per statement and transaction so a large backlog
+// never holds long locks.
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.delete.mode", havingValue = "soft")
+@EnableScheduling
+public class EmployeeTombstonePurger {
+
+  private EmployeeRepository employeeRepository;
+  private int batchSize;
+
+  public EmployeeTombstonePurger(EmployeeRepository employeeRepository,
+      @Value("${employee.delete.purge-batch-size:1000}") int batchSize) {
+    this.employeeRepository = employeeRepository;
+    this.batchSize = batchSize;
+  }
+
+  // returns the number of purged rows
+  @Scheduled(initialDelayString = "${employee.delete.purge-interval:PT1M}",
+      fixedDelayString = "${employee.delete.purge-interval:PT1M}")
+  public int purge() {
+    int purgedRows = 0;
+    List<Long> ids;
+    do {
+      ids = employeeRepository.findTombstoneIds(batchSize);
+      if (!ids.isEmpty()) {
+        purgedRows += employeeRepository.deleteTombstonesByIdIn(ids);
+      }
+    } while (ids.size() == batchSize);
+    return purgedRows;
+  }
+}
@@ -0,0 +1,46 @@
+package net.tutorial.springboottesting.purge;
+
+import net.tutorial.springboottesting.repository.ReactiveEmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// EmployeeTombstonePurger for the reactive profile, same properties and batches
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(name = "employee.delete.mode", havingValue = "soft")
+@EnableScheduling
+public class ReactiveEmployeeTombstonePurger {
+
+  private ReactiveEmployeeRepository employeeRepository;
+  private int batchSize;
+
+  public ReactiveEmployeeTombstonePurger(ReactiveEmployeeRepository employeeRepository,
+      @Value("${employee.delete.purge-batch-size:1000}") int batchSize) {
+    this.employeeRepository = employeeRepository;
+    this.batchSize = batchSize;
+  }
+
+  // the scheduler thread is no event loop thread, it may wait for the purge
+  @Scheduled(initialDelayString = "${employee.delete.purge-interval:PT1M}",
+      fixedDelayString = "${employee.delete.purge-interval:PT1M}")
+  public void schedulePurge() {
+    purge().block();
+  }
+
+  // emits the number of purged rows, batch after batch until one comes back short
+  public Mono<Integer> purge() {
+    return employeeRepository.findTombstoneIds(batchSize)
+        .collectList()
+        .flatMap(ids -> ids.isEmpty()
+            ? Mono.just(0)
+            : employeeRepository.deleteTombstonesByIdIn(ids)
+                .flatMap(purgedRows -> ids.size() < batchSize
+                    ? Mono.just(purgedRows)
+                    : purge().map(nextRows -> purgedRows + nextRows)));
+  }
+}
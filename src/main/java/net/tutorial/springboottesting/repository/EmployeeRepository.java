@@ -1,28 +1,110 @@
 package net.tutorial.springboottesting.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import net.tutorial.springboottesting.dto.EmployeeEmail;
+import net.tutorial.springboottesting.dto.EmployeeSearchEntry;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
 import net.tutorial.springboottesting.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+  // query cache region of the cacheable finders, a result is dropped by any write to the employees table
+  String QUERY_CACHE_REGION = "employee-queries";
 
+  @QueryHints({
+      @QueryHint(name = HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
   Optional<Employee> findByEmail(String email);
 
+  boolean existsByEmail(String email);
+
+  boolean existsByEmailAndIdNot(String email, long id);
+
+  // set-based duplicate check for bulk inserts
+  @Query("select employee.email from Employee employee where employee.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  // id and email of every employee, used to warm up the email index
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  @Query("select new net.tutorial.springboottesting.dto.EmployeeEmail(employee.id, employee.email) from Employee employee")
+  Stream<EmployeeEmail> streamAllEmails();
+
+  // the searchable fields of every employee, used to build the search index
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  @Query("select new net.tutorial.springboottesting.dto.EmployeeSearchEntry(employee.id, employee.firstName, "
+      + "employee.lastName, employee.email) from Employee employee")
+  Stream<EmployeeSearchEntry> streamAllSearchEntries();
+
+  // keyset pagination on the primary key, the page size is taken from the pageable
+  List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+  // same page as findByIdGreaterThanOrderByIdAsc projected to id and name, no entities are created
+  List<EmployeeSummary> findSummariesByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+  // keyset pagination over the employees with the given name, served by idx_employees_first_name_last_name
+  List<Employee> findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(String firstName, String lastName, long id,
+      Pageable pageable);
+
+  // forward-only cursor over the whole table, must be consumed inside a transaction
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query("select employee from Employee employee order by employee.id")
+  Stream<Employee> streamAll();
+
+  // the current version of an employee, not served from the second-level cache
+  @Query("select employee.version from Employee employee where employee.id = :id")
+  Optional<Long> findVersionById(@Param("id") long id);
+
+  // soft deleted rows are hidden from JPQL, the purge goes through native SQL served by idx_employees_deleted_at;
+  // native queries name the tables they touch, otherwise Hibernate flushes and invalidates as if they touched all
+  @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "employees"))
+  @Query(value = "select e.id from employees e where e.deleted_at is not null order by e.deleted_at limit :limit",
+      nativeQuery = true)
+  List<Long> findTombstoneIds(@Param("limit") int limit);
+
   // define custom query using JPQL with index params
+  @QueryHints({
+      @QueryHint(name = HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
   @Query("select employee from Employee employee where employee.firstName = ?1 and employee.lastName = ?2")
   Employee findByJPQL(String firstName, String lastName);
 
   // define custom query using JPQL with named params
+  @QueryHints({
+      @QueryHint(name = HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
   @Query("select employee from Employee employee where employee.firstName =:firstName and employee.lastName =:lastName")
   Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
   // define custom query using native SQL with index params
-  @Query(value = "select * from employees e where e.first_name=?1 and e.last_name=?2", nativeQuery = true)
+  @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "employees"))
+  @Query(value = "select * from employees e where e.first_name=?1 and e.last_name=?2 and e.deleted_at is null",
+      nativeQuery = true)
   Employee findByNativeSQL(String firstName, String lastName);
 
   // define custom query using native SQL with index params
-  @Query(value = "select * from employees e where e.first_name=:firstName and e.last_name=:lastName", nativeQuery = true)
+  @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "employees"))
+  @Query(value = "select * from employees e where e.first_name=:firstName and e.last_name=:lastName "
+      + "and e.deleted_at is null", nativeQuery = true)
   Employee findByNativeSQLNamed(@Param("firstName") String firstName, @Param("lastName") String lastName);
 }
@@ -0,0 +1,58 @@
+package net.tutorial.springboottesting.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import net.tutorial.springboottesting.model.Employee;
+import org.springframework.transaction.annotation.Transactional;
+
+// Single statement writes go through JDBC rather than JPQL bulk statements: Hibernate answers a bulk update or
+// delete by clearing the whole Employee second-level cache region, these evict only the ids they wrote.
+// Every write returns the number of changed rows.
+public interface EmployeeRepositoryCustom {
+
+  // the Employee attributes that can be requested with findFieldsByIdGreaterThan
+  List<String> SELECTABLE_FIELDS = List.of("id", "firstName", "lastName", "email");
+
+  // inserts the employees in one JDBC batch and assigns the generated ids
+  void insertAll(List<Employee> employees);
+
+  int updateById(long id, String firstName, String lastName, String email);
+
+  // same as updateById, only when the row still has the expected version
+  int updateByIdAndVersion(long id, long version, String firstName, String lastName, String email);
+
+  // updates only the non null fields of the patch, when expectedVersion is given only if the row still has it
+  int patchById(long id, Employee patch, Long expectedVersion);
+
+  // unlike deleteById the row is not loaded first
+  int deleteRowById(long id);
+
+  int deleteByIdAndVersion(long id, long version);
+
+  // set-based delete, the caller keeps the IN list small enough for the database
+  int deleteRowsByIdIn(Collection<Long> ids);
+
+  // soft delete: marks the row deleted and releases its email so it can be used again right away
+  int softDeleteById(long id, Instant deletedAt);
+
+  int softDeleteByIdAndVersion(long id, long version, Instant deletedAt);
+
+  int softDeleteByIdIn(Collection<Long> ids, Instant deletedAt);
+
+  // removes the soft deleted rows among the ids, one transaction per purged batch
+  @Transactional
+  int deleteTombstonesByIdIn(Collection<Long> ids);
+
+  // keyset page selecting only the given attributes, one map per row in the order of the fields
+  List<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, long id, int limit);
+
+  // every employee in id order through a forward-only JDBC cursor, no entities are created or kept
+  void exportAll(Consumer<Employee> consumer);
+
+  // updates the employees whose email already belongs to an employee in one JDBC batch and assigns their ids,
+  // returns the employees without a match, the emails are expected to be distinct
+  List<Employee> updateAllByEmail(List<Employee> employees);
+}
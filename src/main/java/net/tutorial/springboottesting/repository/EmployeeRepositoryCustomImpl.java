@@ -0,0 +1,285 @@
+package net.tutorial.springboottesting.repository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import net.tutorial.springboottesting.model.Employee;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+  private static final String INSERT_SQL = "insert into employees (first_name, last_name, email, version) values (?, ?, ?, 0)";
+  private static final String UPDATE_BY_ID_SQL = "update employees set first_name = ?, last_name = ?, email = ?, "
+      + "version = version + 1 where id = ?";
+  private static final String UPDATE_LIVE_BY_ID_SQL = UPDATE_BY_ID_SQL + " and deleted_at is null";
+  private static final String SOFT_DELETE_SQL = "update employees set deleted_at = ?, email = null, "
+      + "version = version + 1 where deleted_at is null and id";
+  // a soft deleted row is gone for the hard deletes as well, only deleteTombstonesByIdIn removes it
+  private static final String DELETE_LIVE_SQL = "delete from employees where deleted_at is null and id";
+  private static final String EXPORT_SQL = "select id, first_name, last_name, email from employees "
+      + "where deleted_at is null order by id";
+  // rows per round trip of the export cursor, MySQL only honours it with useCursorFetch=true
+  static final int EXPORT_FETCH_SIZE = 1000;
+
+  private JdbcTemplate jdbcTemplate;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  public EmployeeRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void insertAll(List<Employee> employees) {
+    if (employees.isEmpty()) {
+      return;
+    }
+    // Hibernate cannot batch inserts of IDENTITY ids, plain JDBC can and still returns the generated keys
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+        for (Employee employee : employees) {
+          statement.setString(1, employee.getFirstName());
+          statement.setString(2, employee.getLastName());
+          statement.setString(3, employee.getEmail());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+          int row = 0;
+          while (generatedKeys.next() && row < employees.size()) {
+            employees.get(row++).setId(generatedKeys.getLong(1));
+          }
+          if (row != employees.size()) {
+            throw new IncorrectResultSizeDataAccessException(employees.size(), row);
+          }
+        }
+      }
+      return null;
+    });
+    evictSecondLevelCache(List.of());
+  }
+
+  @Override
+  public int updateById(long id, String firstName, String lastName, String email) {
+    return write(List.of(id), UPDATE_LIVE_BY_ID_SQL, firstName, lastName, email, id);
+  }
+
+  @Override
+  public int updateByIdAndVersion(long id, long version, String firstName, String lastName, String email) {
+    return write(List.of(id), UPDATE_LIVE_BY_ID_SQL + " and version = ?", firstName, lastName, email, id, version);
+  }
+
+  @Override
+  public int patchById(long id, Employee patch, Long expectedVersion) {
+    List<String> assignments = new ArrayList<>();
+    List<Object> args = new ArrayList<>();
+    if (patch.getFirstName() != null) {
+      assignments.add("first_name = ?");
+      args.add(patch.getFirstName());
+    }
+    if (patch.getLastName() != null) {
+      assignments.add("last_name = ?");
+      args.add(patch.getLastName());
+    }
+    if (patch.getEmail() != null) {
+      assignments.add("email = ?");
+      args.add(patch.getEmail());
+    }
+    if (assignments.isEmpty()) {
+      // nothing to write, only report whether the row exists with the expected version
+      Employee existing = entityManager.find(Employee.class, id);
+      return existing == null || (expectedVersion != null && existing.getVersion() != expectedVersion) ? 0 : 1;
+    }
+    String sql = "update employees set " + String.join(", ", assignments)
+        + ", version = version + 1 where id = ? and deleted_at is null";
+    args.add(id);
+    if (expectedVersion != null) {
+      sql += " and version = ?";
+      args.add(expectedVersion);
+    }
+    return write(List.of(id), sql, args.toArray());
+  }
+
+  @Override
+  public int deleteRowById(long id) {
+    return write(List.of(id), DELETE_LIVE_SQL + " = ?", id);
+  }
+
+  @Override
+  public int deleteByIdAndVersion(long id, long version) {
+    return write(List.of(id), DELETE_LIVE_SQL + " = ? and version = ?", id, version);
+  }
+
+  @Override
+  public int deleteRowsByIdIn(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return write(ids, DELETE_LIVE_SQL + " in (" + placeholders(ids) + ")", ids.toArray());
+  }
+
+  @Override
+  public int softDeleteById(long id, Instant deletedAt) {
+    return write(List.of(id), SOFT_DELETE_SQL + " = ?", Timestamp.from(deletedAt), id);
+  }
+
+  @Override
+  public int softDeleteByIdAndVersion(long id, long version, Instant deletedAt) {
+    return write(List.of(id), SOFT_DELETE_SQL + " = ? and version = ?", Timestamp.from(deletedAt), id, version);
+  }
+
+  @Override
+  public int softDeleteByIdIn(Collection<Long> ids, Instant deletedAt) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    List<Object> args = new ArrayList<>();
+    args.add(Timestamp.from(deletedAt));
+    args.addAll(ids);
+    return write(ids, SOFT_DELETE_SQL + " in (" + placeholders(ids) + ")", args.toArray());
+  }
+
+  @Override
+  public int deleteTombstonesByIdIn(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    // Hibernate never sees soft deleted rows, neither the persistence context nor the caches hold a tombstone
+    return jdbcTemplate.update("delete from employees where id in (" + placeholders(ids) + ") "
+        + "and deleted_at is not null", ids.toArray());
+  }
+
+  @Override
+  public List<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, long id, int limit) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Employee> employee = query.from(Employee.class);
+    // a tuple query reads the columns only, nothing is put in the persistence context
+    List<Selection<?>> selections = fields.stream()
+        .<Selection<?>>map(field -> employee.get(field).alias(field))
+        .toList();
+    query.multiselect(selections)
+        .where(criteriaBuilder.greaterThan(employee.get("id"), id))
+        .orderBy(criteriaBuilder.asc(employee.get("id")));
+    return entityManager.createQuery(query)
+        .setMaxResults(limit)
+        .getResultStream()
+        .map(tuple -> {
+          Map<String, Object> row = new LinkedHashMap<>();
+          fields.forEach(field -> row.put(field, tuple.get(field)));
+          return row;
+        })
+        .toList();
+  }
+
+  @Override
+  public void exportAll(Consumer<Employee> consumer) {
+    jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+          ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(EXPORT_FETCH_SIZE);
+      return statement;
+    }, (RowCallbackHandler) resultSet -> consumer.accept(Employee.builder()
+        .id(resultSet.getLong(1))
+        .firstName(resultSet.getString(2))
+        .lastName(resultSet.getString(3))
+        .email(resultSet.getString(4))
+        .build()));
+  }
+
+  @Override
+  public List<Employee> updateAllByEmail(List<Employee> employees) {
+    Map<String, Employee> employeesByEmail = new LinkedHashMap<>();
+    List<Employee> unmatched = new ArrayList<>();
+    for (Employee employee : employees) {
+      if (employee.getEmail() == null) {
+        unmatched.add(employee);
+      } else {
+        employeesByEmail.put(employee.getEmail().toLowerCase(Locale.ROOT), employee);
+      }
+    }
+    if (employeesByEmail.isEmpty()) {
+      return unmatched;
+    }
+    // one query for the ids of all emails, compared case-insensitively like the MySQL unique index does
+    List<Employee> matched = new ArrayList<>();
+    String placeholders = placeholders(employeesByEmail.keySet());
+    jdbcTemplate.query("select id, email from employees where email in (" + placeholders + ")",
+        (RowCallbackHandler) resultSet -> {
+          Employee employee = employeesByEmail.remove(resultSet.getString(2).toLowerCase(Locale.ROOT));
+          if (employee != null) {
+            employee.setId(resultSet.getLong(1));
+            matched.add(employee);
+          }
+        }, employeesByEmail.values().stream().map(Employee::getEmail).toArray());
+    if (!matched.isEmpty()) {
+      jdbcTemplate.batchUpdate(UPDATE_BY_ID_SQL, matched, matched.size(), (statement, employee) -> {
+        statement.setString(1, employee.getFirstName());
+        statement.setString(2, employee.getLastName());
+        statement.setString(3, employee.getEmail());
+        statement.setLong(4, employee.getId());
+      });
+      evictSecondLevelCache(matched.stream().map(Employee::getId).toList());
+    }
+    unmatched.addAll(employeesByEmail.values());
+    return unmatched;
+  }
+
+  // same contract as @Modifying(flushAutomatically = true, clearAutomatically = true): pending entity changes reach
+  // the database first and no managed copy outlives the statement
+  private int write(Collection<Long> ids, String sql, Object... args) {
+    entityManager.flush();
+    int changedRows = jdbcTemplate.update(sql, args);
+    entityManager.clear();
+    evictSecondLevelCache(ids);
+    return changedRows;
+  }
+
+  private static String placeholders(Collection<?> values) {
+    return String.join(", ", Collections.nCopies(values.size(), "?"));
+  }
+
+  // JDBC writes bypass Hibernate, which would keep serving the old rows and query results from its second-level
+  // cache. Evicted right away for the rest of the transaction and again once it completes, a concurrent reader
+  // may have cached the committed rows in between.
+  private void evictSecondLevelCache(Collection<Long> updatedIds) {
+    Cache cache = entityManager.getEntityManagerFactory().getCache();
+    Runnable eviction = () -> {
+      updatedIds.forEach(id -> cache.evict(Employee.class, id));
+      cache.unwrap(org.hibernate.Cache.class).evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+    };
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          eviction.run();
+        }
+      });
+    }
+  }
+}
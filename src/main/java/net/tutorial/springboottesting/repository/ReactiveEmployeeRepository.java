@@ -0,0 +1,99 @@
+package net.tutorial.springboottesting.repository;
+
+import java.util.Collection;
+import net.tutorial.springboottesting.model.Employee;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of EmployeeRepository, used by the reactive profile.
+// Created by ReactiveConfig instead of repository scanning, the JPA scan refuses reactive repositories of an @Entity.
+// Soft deleted rows are invisible here as they are to JPA, every query filters deleted_at is null. The email checks
+// need no filter: a soft delete on either stack sets the email of the tombstone to null, which releases it.
+@NoRepositoryBean
+public interface ReactiveEmployeeRepository extends R2dbcRepository<Employee, Long>, ReactiveEmployeeRepositoryCustom {
+
+  @Override
+  @Query("select * from employees where id = :id and deleted_at is null")
+  Mono<Employee> findById(@Param("id") Long id);
+
+  @Query("select * from employees where email = :email and deleted_at is null")
+  Mono<Employee> findByEmail(@Param("email") String email);
+
+  Mono<Boolean> existsByEmail(String email);
+
+  Mono<Boolean> existsByEmailAndIdNot(String email, long id);
+
+  // set-based duplicate check for bulk inserts
+  @Query("select email from employees where email in (:emails)")
+  Flux<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  // keyset pagination on the primary key
+  @Query("select * from employees where id > :id and deleted_at is null order by id limit :limit")
+  Flux<Employee> findByIdGreaterThanOrderByIdAsc(@Param("id") long id, @Param("limit") int limit);
+
+  @Query("select * from employees where first_name = :firstName and last_name = :lastName and id > :id "
+      + "and deleted_at is null order by id limit :limit")
+  Flux<Employee> findByNameAndIdGreaterThan(@Param("firstName") String firstName, @Param("lastName") String lastName,
+      @Param("id") long id, @Param("limit") int limit);
+
+  // rows are pulled from the driver as the subscriber requests them
+  @Query("select * from employees where deleted_at is null order by id")
+  Flux<Employee> streamAll();
+
+  @Modifying
+  @Query("update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+      + "version = version + 1 where id = :id and deleted_at is null")
+  Mono<Integer> updateById(@Param("id") long id, @Param("firstName") String firstName,
+      @Param("lastName") String lastName, @Param("email") String email);
+
+  @Modifying
+  @Query("update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+      + "version = version + 1 where id = :id and version = :version and deleted_at is null")
+  Mono<Integer> updateByIdAndVersion(@Param("id") long id, @Param("version") long version,
+      @Param("firstName") String firstName, @Param("lastName") String lastName, @Param("email") String email);
+
+  @Query("select version from employees where id = :id and deleted_at is null")
+  Mono<Long> findVersionById(@Param("id") long id);
+
+  // single statement delete, returns the number of deleted rows
+  @Modifying
+  @Query("delete from employees where id = :id and deleted_at is null")
+  Mono<Integer> deleteRowById(@Param("id") long id);
+
+  @Modifying
+  @Query("delete from employees where id = :id and version = :version and deleted_at is null")
+  Mono<Integer> deleteByIdAndVersion(@Param("id") long id, @Param("version") long version);
+
+  // soft delete: marks the row deleted and releases its email so it can be used again right away,
+  // same statement as EmployeeRepository.softDeleteById
+  @Modifying
+  @Query("update employees set deleted_at = current_timestamp, email = null, version = version + 1 "
+      + "where id = :id and deleted_at is null")
+  Mono<Integer> softDeleteById(@Param("id") long id);
+
+  @Modifying
+  @Query("update employees set deleted_at = current_timestamp, email = null, version = version + 1 "
+      + "where id = :id and version = :version and deleted_at is null")
+  Mono<Integer> softDeleteByIdAndVersion(@Param("id") long id, @Param("version") long version);
+
+  @Query("select id from employees where deleted_at is not null order by deleted_at limit :limit")
+  Flux<Long> findTombstoneIds(@Param("limit") int limit);
+
+  @Modifying
+  @Query("delete from employees where id in (:ids) and deleted_at is not null")
+  Mono<Integer> deleteTombstonesByIdIn(@Param("ids") Collection<Long> ids);
+
+  // counterpart of findByJPQL and findByJPQLNamedParams
+  @Query("select * from employees where first_name = :firstName and last_name = :lastName and deleted_at is null")
+  Mono<Employee> findByFirstNameAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+  // define custom query using native SQL with named params
+  @Query("select * from employees e where e.first_name = :firstName and e.last_name = :lastName "
+      + "and e.deleted_at is null")
+  Mono<Employee> findByNativeSQLNamed(@Param("firstName") String firstName, @Param("lastName") String lastName);
+}
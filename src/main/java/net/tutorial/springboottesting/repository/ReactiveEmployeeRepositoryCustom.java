@@ -0,0 +1,17 @@
+package net.tutorial.springboottesting.repository;
+
+import java.util.List;
+import java.util.Map;
+import net.tutorial.springboottesting.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeRepositoryCustom {
+
+  // updates only the non-null fields of the patch, see EmployeeRepositoryCustom#patchById
+  Mono<Integer> patchById(long id, Employee patch, Long expectedVersion);
+
+  // keyset page selecting only the given EmployeeRepositoryCustom.SELECTABLE_FIELDS, see
+  // EmployeeRepositoryCustom#findFieldsByIdGreaterThan
+  Flux<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, long id, int limit);
+}
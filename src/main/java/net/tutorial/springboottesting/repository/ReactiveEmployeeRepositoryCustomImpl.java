@@ -0,0 +1,87 @@
+package net.tutorial.springboottesting.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import net.tutorial.springboottesting.model.Employee;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveEmployeeRepositoryCustomImpl implements ReactiveEmployeeRepositoryCustom {
+
+  // column of every EmployeeRepositoryCustom.SELECTABLE_FIELDS entry, the only names put into the select list
+  private static final Map<String, String> COLUMNS_BY_FIELD = Map.of(
+      "id", "id",
+      "firstName", "first_name",
+      "lastName", "last_name",
+      "email", "email");
+
+  private DatabaseClient databaseClient;
+
+  public ReactiveEmployeeRepositoryCustomImpl(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  @Override
+  public Mono<Integer> patchById(long id, Employee patch, Long expectedVersion) {
+    Map<String, String> columns = new LinkedHashMap<>();
+    if (patch.getFirstName() != null) {
+      columns.put("first_name", patch.getFirstName());
+    }
+    if (patch.getLastName() != null) {
+      columns.put("last_name", patch.getLastName());
+    }
+    if (patch.getEmail() != null) {
+      columns.put("email", patch.getEmail());
+    }
+    StringBuilder sql = new StringBuilder();
+    if (columns.isEmpty()) {
+      // nothing to write, only report whether the row exists (with the expected version)
+      sql.append("select count(*) from employees where id = :id and deleted_at is null");
+    } else {
+      sql.append("update employees set ");
+      columns.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+      sql.append("version = version + 1 where id = :id and deleted_at is null");
+    }
+    if (expectedVersion != null) {
+      sql.append(" and version = :version");
+    }
+    GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("id", id);
+    for (Map.Entry<String, String> column : columns.entrySet()) {
+      spec = spec.bind(column.getKey(), column.getValue());
+    }
+    if (expectedVersion != null) {
+      spec = spec.bind("version", expectedVersion);
+    }
+    if (columns.isEmpty()) {
+      return spec.map(row -> row.get(0, Long.class)).one().map(Long::intValue);
+    }
+    return spec.fetch().rowsUpdated().map(Long::intValue);
+  }
+
+  @Override
+  public Flux<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, long id, int limit) {
+    String columns = fields.stream()
+        .map(field -> {
+          String column = COLUMNS_BY_FIELD.get(field);
+          if (column == null) {
+            throw new IllegalArgumentException("Employee field cannot be selected: " + field);
+          }
+          return column;
+        })
+        .collect(Collectors.joining(", "));
+    return databaseClient.sql("select " + columns + " from employees where id > :id and deleted_at is null "
+            + "order by id limit :limit")
+        .bind("id", id)
+        .bind("limit", limit)
+        .map(row -> {
+          Map<String, Object> fieldValues = new LinkedHashMap<>();
+          fields.forEach(field -> fieldValues.put(field, row.get(COLUMNS_BY_FIELD.get(field))));
+          return fieldValues;
+        })
+        .all();
+  }
+}
@@ -1,14 +1,35 @@
 package net.tutorial.springboottesting.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.dto.EmployeeLookupResult;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
 import net.tutorial.springboottesting.model.Employee;
 
 public interface EmployeeService {
 
   Employee saveEmployee(Employee employee);
+  List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
   List<Employee> getAllEmployees();
+  List<Employee> getEmployeesAfter(long afterId, int limit);
+  List<EmployeeSummary> getEmployeeSummariesAfter(long afterId, int limit);
+  List<Map<String, Object>> getEmployeeFieldsAfter(List<String> fields, long afterId, int limit);
+  List<Employee> getEmployeesByName(String firstName, String lastName, long afterId, int limit);
+  List<Employee> searchEmployees(String query, int limit);
+  void streamAllEmployees(Consumer<Employee> consumer);
+  void exportEmployees(Consumer<Employee> consumer);
+  EmployeeImportResult importEmployees(List<Employee> employees);
   Optional<Employee> getEmployeeById(long id);
+  Optional<Long> getEmployeeVersion(long id);
+  EmployeeLookupResult getEmployeesByIds(List<Long> ids);
   Employee updateEmployee(Employee updateEmployee);
-  void deleteEmployeeById(long id);
+  Optional<Employee> updateEmployee(long id, Employee employee, Long expectedVersion);
+  Optional<Long> patchEmployee(long id, Employee patch, Long expectedVersion);
+  boolean deleteEmployeeById(long id);
+  boolean deleteEmployeeById(long id, long expectedVersion);
+  int deleteEmployeesByIds(List<Long> ids);
 }
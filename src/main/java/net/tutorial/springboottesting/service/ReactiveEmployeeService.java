@@ -0,0 +1,23 @@
+package net.tutorial.springboottesting.service;
+
+import java.util.List;
+import java.util.Map;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+  Mono<Employee> saveEmployee(Employee employee);
+  Flux<EmployeeBatchResult> saveEmployees(List<Employee> employees);
+  Flux<Employee> getAllEmployees();
+  Flux<Employee> getEmployeesAfter(long afterId, int limit);
+  Flux<Map<String, Object>> getEmployeeFieldsAfter(List<String> fields, long afterId, int limit);
+  Flux<Employee> getEmployeesByName(String firstName, String lastName, long afterId, int limit);
+  Mono<Employee> getEmployeeById(long id);
+  Mono<Employee> updateEmployee(long id, Employee employee, Long expectedVersion);
+  Mono<Long> patchEmployee(long id, Employee patch, Long expectedVersion);
+  Mono<Boolean> deleteEmployeeById(long id);
+  Mono<Boolean> deleteEmployeeById(long id, long expectedVersion);
+}
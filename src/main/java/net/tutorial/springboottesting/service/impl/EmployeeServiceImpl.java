@@ -1,51 +1,471 @@
 package net.tutorial.springboottesting.service.impl;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import net.tutorial.springboottesting.coalesce.EmployeeLookupCoalescer;
+import net.tutorial.springboottesting.config.CacheConfig;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.dto.EmployeeLookupResult;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
 import net.tutorial.springboottesting.exception.ResourceNotFoundException;
+import net.tutorial.springboottesting.exception.VersionConflictException;
+import net.tutorial.springboottesting.index.EmployeeEmailIndex;
+import net.tutorial.springboottesting.index.EmployeeSearchIndex;
 import net.tutorial.springboottesting.model.Employee;
 import net.tutorial.springboottesting.repository.EmployeeRepository;
 import net.tutorial.springboottesting.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
+@Profile("!reactive")
+@Timed(value = "employee.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class EmployeeServiceImpl implements EmployeeService {
 
+  // ids per findAllById query, keeps the IN list within what every database accepts
+  static final int IDS_PER_QUERY = 1000;
+
   @Autowired
   private EmployeeRepository employeeRepository;
 
-  public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private EmployeeEmailIndex employeeEmailIndex;
+
+  private EmployeeSearchIndex employeeSearchIndex;
+
+  private EmployeeLookupCoalescer employeeLookupCoalescer;
+
+  // null when caching is not configured
+  private CacheManager cacheManager;
+
+  // hard deletes the rows, soft only marks them deleted and leaves them to EmployeeTombstonePurger
+  @Value("${employee.delete.mode:hard}")
+  private String deleteMode;
+
+  public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeEmailIndex employeeEmailIndex,
+      EmployeeSearchIndex employeeSearchIndex, EmployeeLookupCoalescer employeeLookupCoalescer,
+      ObjectProvider<CacheManager> cacheManager) {
     this.employeeRepository = employeeRepository;
+    this.employeeEmailIndex = employeeEmailIndex;
+    this.employeeSearchIndex = employeeSearchIndex;
+    this.employeeLookupCoalescer = employeeLookupCoalescer;
+    this.cacheManager = cacheManager == null ? null : cacheManager.getIfAvailable();
   }
 
+  // the email check and the insert share one transaction and one connection
   @Override
+  @Transactional
+  @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
   public Employee saveEmployee(Employee employee) {
 
-    Optional<Employee> saveEmployee = employeeRepository.findByEmail(employee.getEmail());
-    if (saveEmployee.isPresent()) {
-      throw new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail());
+    // only an index hit costs a query, it confirms the entry is not stale
+    if (employeeEmailIndex.contains(employee.getEmail())) {
+      if (employeeRepository.existsByEmail(employee.getEmail())) {
+        throw new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail());
+      }
+      employeeEmailIndex.removeEmail(employee.getEmail());
+    }
+    Employee savedEmployee;
+    try {
+      savedEmployee = employeeRepository.save(employee);
+    } catch (DataIntegrityViolationException e) {
+      // inserted by someone the index has not seen yet, the unique constraint has the last word
+      throw duplicateEmailOr(e, employee.getEmail(), employee.getId());
+    }
+    indexAfterCommit(savedEmployee);
+    return savedEmployee;
+  }
+
+  @Override
+  @Transactional
+  public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+    EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+    List<Integer> rowsToInsert = new ArrayList<>();
+    Map<String, Integer> rowsByEmail = new HashMap<>();
+    for (int row = 0; row < employees.size(); row++) {
+      Employee employee = employees.get(row);
+      if (employee == null || isBlank(employee.getFirstName()) || isBlank(employee.getLastName())) {
+        results[row] = EmployeeBatchResult.invalid(row, "firstName and lastName are required");
+      } else if (employee.getEmail() == null) {
+        rowsToInsert.add(row);
+      } else if (rowsByEmail.putIfAbsent(employee.getEmail().toLowerCase(Locale.ROOT), row) != null) {
+        results[row] = EmployeeBatchResult.duplicate(row, employee.getEmail());
+      }
+    }
+    // one query for the whole chunk instead of a findByEmail per row
+    if (!rowsByEmail.isEmpty()) {
+      List<String> emails = rowsByEmail.values().stream().map(row -> employees.get(row).getEmail()).toList();
+      for (String existingEmail : employeeRepository.findExistingEmails(emails)) {
+        Integer row = rowsByEmail.remove(existingEmail.toLowerCase(Locale.ROOT));
+        if (row != null) {
+          results[row] = EmployeeBatchResult.duplicate(row, existingEmail);
+        }
+      }
+    }
+    rowsToInsert.addAll(rowsByEmail.values());
+    rowsToInsert.sort(null);
+
+    List<Employee> employeesToInsert = rowsToInsert.stream().map(employees::get).toList();
+    employeeRepository.insertAll(employeesToInsert);
+    for (int row : rowsToInsert) {
+      Employee employee = employees.get(row);
+      results[row] = EmployeeBatchResult.created(row, employee.getId());
+      indexAfterCommit(employee);
     }
-    return employeeRepository.save(employee);
+    return Arrays.asList(results);
   }
 
+  // read-only transactions run with flush mode MANUAL and load the entities read-only,
+  // so Hibernate neither keeps dirty-checking snapshots nor flushes at commit
   @Override
+  @Transactional(readOnly = true)
   public List<Employee> getAllEmployees() {
     return employeeRepository.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public List<Employee> getEmployeesAfter(long afterId, int limit) {
+    return employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<EmployeeSummary> getEmployeeSummariesAfter(long afterId, int limit) {
+    return employeeRepository.findSummariesByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Map<String, Object>> getEmployeeFieldsAfter(List<String> fields, long afterId, int limit) {
+    return employeeRepository.findFieldsByIdGreaterThan(fields, afterId, limit);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Employee> getEmployeesByName(String firstName, String lastName, long afterId, int limit) {
+    return employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(firstName, lastName, afterId,
+        PageRequest.ofSize(limit));
+  }
+
+  @Override
+  public List<Employee> searchEmployees(String query, int limit) {
+    return employeeSearchIndex.search(query, limit);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllEmployees(Consumer<Employee> consumer) {
+    try (Stream<Employee> employees = employeeRepository.streamAll()) {
+      employees.forEach(employee -> {
+        consumer.accept(employee);
+        // detach so the persistence context does not grow with the table
+        entityManager.detach(employee);
+      });
+    }
+  }
+
+  // plain rows from a JDBC cursor, lighter than streamAllEmployees since no entity is created
+  @Override
+  @Transactional(readOnly = true)
+  public void exportEmployees(Consumer<Employee> consumer) {
+    employeeRepository.exportAll(consumer);
+  }
+
+  // upsert keyed on email: a row updates the employee owning its email, otherwise it is inserted,
+  // ids in the rows are ignored; one update batch and one insert batch for the whole call
+  @Override
+  @Transactional
+  public EmployeeImportResult importEmployees(List<Employee> employees) {
+    List<Employee> rows = new ArrayList<>(employees.size());
+    Map<String, Employee> rowsByEmail = new LinkedHashMap<>();
+    long invalid = 0;
+    long overwritten = 0;
+    for (Employee employee : employees) {
+      if (employee == null || isBlank(employee.getFirstName()) || isBlank(employee.getLastName())) {
+        invalid++;
+        continue;
+      }
+      employee.setId(0);
+      if (employee.getEmail() == null) {
+        rows.add(employee);
+      } else if (rowsByEmail.put(employee.getEmail().toLowerCase(Locale.ROOT), employee) != null) {
+        // a later row with the same email wins, as if the rows had been imported one by one
+        overwritten++;
+      }
+    }
+    rows.addAll(rowsByEmail.values());
+    List<Employee> employeesToInsert = employeeRepository.updateAllByEmail(rows);
+    employeeRepository.insertAll(employeesToInsert);
+    Cache cache = cacheManager == null ? null : cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+    afterCommit(() -> rows.forEach(employee -> {
+      if (cache != null) {
+        cache.evict(employee.getId());
+      }
+      employeeEmailIndex.put(employee.getId(), employee.getEmail());
+      employeeSearchIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }));
+    return new EmployeeImportResult(employeesToInsert.size(), rows.size() - employeesToInsert.size() + overwritten,
+        invalid);
+  }
+
+  // cache misses for the same id are coalesced, no transaction here so that callers waiting
+  // on a coalesced lookup do not hold a connection; the coalescer reads on the primary, see EmployeeLookupCoalescer
+  @Override
+  @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", unless = "#result == null")
   public Optional<Employee> getEmployeeById(long id) {
-    return employeeRepository.findById(id);
+    return employeeLookupCoalescer.findById(id);
+  }
+
+  // uncached and read on the primary, a conditional write depends on it
+  @Override
+  @Transactional
+  public Optional<Long> getEmployeeVersion(long id) {
+    return employeeRepository.findVersionById(id);
   }
 
+  // cached employees first, the rest with one IN query per IDS_PER_QUERY ids; read on the primary since the
+  // loaded employees are put in the cache, like the getEmployeeById lookups
   @Override
+  @Transactional
+  public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+    Cache cache = cacheManager == null ? null : cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+    Set<Long> requestedIds = new LinkedHashSet<>(ids);
+    Map<Long, Employee> employeesById = new HashMap<>();
+    List<Long> idsToLoad = new ArrayList<>();
+    for (Long id : requestedIds) {
+      Employee cached = cache == null ? null : cache.get(id, Employee.class);
+      if (cached != null) {
+        employeesById.put(id, cached);
+      } else {
+        idsToLoad.add(id);
+      }
+    }
+    for (int from = 0; from < idsToLoad.size(); from += IDS_PER_QUERY) {
+      List<Long> chunk = idsToLoad.subList(from, Math.min(from + IDS_PER_QUERY, idsToLoad.size()));
+      for (Employee employee : employeeRepository.findAllById(chunk)) {
+        employeesById.put(employee.getId(), employee);
+        if (cache != null) {
+          cache.put(employee.getId(), employee);
+        }
+      }
+    }
+    List<Employee> employees = new ArrayList<>(requestedIds.size());
+    List<Long> missingIds = new ArrayList<>();
+    for (Long id : requestedIds) {
+      Employee employee = employeesById.get(id);
+      if (employee != null) {
+        employees.add(employee);
+      } else {
+        missingIds.add(id);
+      }
+    }
+    return new EmployeeLookupResult(employees, missingIds);
+  }
+
+  @Override
+  @Transactional
+  @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
   public Employee updateEmployee(Employee updateEmployee) {
-    return employeeRepository.save(updateEmployee);
+    Employee updatedEmployee = employeeRepository.save(updateEmployee);
+    indexAfterCommit(updatedEmployee);
+    return updatedEmployee;
+  }
+
+  @Override
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+  public Optional<Employee> updateEmployee(long id, Employee employee, Long expectedVersion) {
+    int updatedRows;
+    try {
+      updatedRows = expectedVersion == null
+          ? employeeRepository.updateById(id, employee.getFirstName(), employee.getLastName(), employee.getEmail())
+          : employeeRepository.updateByIdAndVersion(id, expectedVersion, employee.getFirstName(),
+              employee.getLastName(), employee.getEmail());
+    } catch (DataIntegrityViolationException e) {
+      throw duplicateEmailOr(e, employee.getEmail(), id);
+    }
+    if (updatedRows == 0) {
+      checkVersionConflict(id, expectedVersion);
+      return Optional.empty();
+    }
+    afterCommit(() -> {
+      employeeEmailIndex.put(id, employee.getEmail());
+      employeeSearchIndex.put(id, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    });
+    // every column was written, the response is built from the request; the new version follows from a
+    // conditional update, an unconditional one reads it back from the row it has just locked
+    long version = expectedVersion == null ? employeeRepository.findVersionById(id).orElseThrow() : expectedVersion + 1;
+    return Optional.of(Employee.builder()
+        .id(id)
+        .firstName(employee.getFirstName())
+        .lastName(employee.getLastName())
+        .email(employee.getEmail())
+        .version(version)
+        .build());
+  }
+
+  @Override
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+  public Optional<Long> patchEmployee(long id, Employee patch, Long expectedVersion) {
+    int updatedRows;
+    try {
+      updatedRows = employeeRepository.patchById(id, patch, expectedVersion);
+    } catch (DataIntegrityViolationException e) {
+      throw duplicateEmailOr(e, patch.getEmail(), id);
+    }
+    if (updatedRows == 0) {
+      checkVersionConflict(id, expectedVersion);
+      return Optional.empty();
+    }
+    afterCommit(() -> {
+      if (patch.getEmail() != null) {
+        employeeEmailIndex.put(id, patch.getEmail());
+      }
+      employeeSearchIndex.patch(id, patch.getFirstName(), patch.getLastName(), patch.getEmail());
+    });
+    // the stored version: a conditional patch moved it past the expected one unless it had no field to write,
+    // an unconditional one reads it back like updateEmployee
+    if (expectedVersion == null) {
+      return employeeRepository.findVersionById(id);
+    }
+    return Optional.of(isEmptyPatch(patch) ? expectedVersion : expectedVersion + 1);
+  }
+
+  @Override
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+  public boolean deleteEmployeeById(long id) {
+    int deletedRows = isSoftDelete()
+        ? employeeRepository.softDeleteById(id, Instant.now())
+        : employeeRepository.deleteRowById(id);
+    if (deletedRows == 0) {
+      return false;
+    }
+    unindexAfterCommit(id);
+    return true;
+  }
+
+  @Override
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+  public boolean deleteEmployeeById(long id, long expectedVersion) {
+    int deletedRows = isSoftDelete()
+        ? employeeRepository.softDeleteByIdAndVersion(id, expectedVersion, Instant.now())
+        : employeeRepository.deleteByIdAndVersion(id, expectedVersion);
+    if (deletedRows == 0) {
+      checkVersionConflict(id, expectedVersion);
+      return false;
+    }
+    unindexAfterCommit(id);
+    return true;
   }
 
+  // one statement for all ids, the controller caps them at EmployeeController.MAX_PAGE_LIMIT, far below the IN list
+  // limits of the databases; returns the number of deleted employees
   @Override
-  public void deleteEmployeeById(long id) {
-    employeeRepository.deleteById(id);
+  @Transactional
+  public int deleteEmployeesByIds(List<Long> ids) {
+    List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+    int deletedRows = isSoftDelete()
+        ? employeeRepository.softDeleteByIdIn(distinctIds, Instant.now())
+        : employeeRepository.deleteRowsByIdIn(distinctIds);
+    // the statements do not tell which ids were found, evicting and unindexing a missing one is harmless;
+    // evicted after the commit like @CacheEvict so a concurrent read cannot cache a row being deleted
+    Cache cache = cacheManager == null ? null : cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+    afterCommit(() -> distinctIds.forEach(id -> {
+      if (cache != null) {
+        cache.evict(id);
+      }
+      employeeEmailIndex.remove(id);
+      employeeSearchIndex.remove(id);
+    }));
+    return deletedRows;
+  }
+
+  private boolean isSoftDelete() {
+    return "soft".equals(deleteMode);
+  }
+
+  private void indexAfterCommit(Employee employee) {
+    afterCommit(() -> {
+      employeeEmailIndex.put(employee.getId(), employee.getEmail());
+      employeeSearchIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    });
+  }
+
+  private void unindexAfterCommit(long id) {
+    afterCommit(() -> {
+      employeeEmailIndex.remove(id);
+      employeeSearchIndex.remove(id);
+    });
+  }
+
+  // the in-memory indexes only see committed writes, a rolled back transaction leaves them untouched
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  // a conditional write touching no row either lost against a concurrent write or targeted a missing employee
+  private void checkVersionConflict(long id, Long expectedVersion) {
+    if (expectedVersion != null && employeeRepository.existsById(id)) {
+      throw new VersionConflictException("Employee " + id + " was modified, expected version: " + expectedVersion);
+    }
+  }
+
+  // translates a constraint violation caused by another employee owning the email
+  private RuntimeException duplicateEmailOr(DataIntegrityViolationException e, String email, long id) {
+    if (email != null && employeeRepository.existsByEmailAndIdNot(email, id)) {
+      return new ResourceNotFoundException("Employee already exist with given email: " + email);
+    }
+    return e;
+  }
+
+  private static boolean isEmptyPatch(Employee patch) {
+    return patch.getFirstName() == null && patch.getLastName() == null && patch.getEmail() == null;
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
   }
 }
@@ -0,0 +1,204 @@
+package net.tutorial.springboottesting.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.exception.ResourceNotFoundException;
+import net.tutorial.springboottesting.exception.VersionConflictException;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.ReactiveEmployeeRepository;
+import net.tutorial.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+  private ReactiveEmployeeRepository employeeRepository;
+
+  // employee.delete.mode as in EmployeeServiceImpl, soft deletes are purged by ReactiveEmployeeTombstonePurger
+  @Value("${employee.delete.mode:hard}")
+  private String deleteMode;
+
+  public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+    this.employeeRepository = employeeRepository;
+  }
+
+  @Override
+  public Mono<Employee> saveEmployee(Employee employee) {
+    Mono<Boolean> exists = employee.getEmail() == null
+        ? Mono.just(false)
+        : employeeRepository.existsByEmail(employee.getEmail());
+    return exists
+        .flatMap(duplicate -> duplicate
+            ? Mono.<Employee>error(new ResourceNotFoundException(
+                "Employee already exist with given email: " + employee.getEmail()))
+            : employeeRepository.save(employee))
+        // inserted concurrently after the check, the unique constraint has the last word
+        .onErrorResume(DataIntegrityViolationException.class,
+            e -> duplicateEmailOr(e, employee.getEmail(), employee.getId()));
+  }
+
+  @Override
+  @Transactional
+  public Flux<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+    EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+    List<Integer> rowsWithoutEmail = new ArrayList<>();
+    Map<String, Integer> rowsByEmail = new HashMap<>();
+    for (int row = 0; row < employees.size(); row++) {
+      Employee employee = employees.get(row);
+      if (employee == null || isBlank(employee.getFirstName()) || isBlank(employee.getLastName())) {
+        results[row] = EmployeeBatchResult.invalid(row, "firstName and lastName are required");
+      } else if (employee.getEmail() == null) {
+        rowsWithoutEmail.add(row);
+      } else if (rowsByEmail.putIfAbsent(employee.getEmail().toLowerCase(Locale.ROOT), row) != null) {
+        results[row] = EmployeeBatchResult.duplicate(row, employee.getEmail());
+      }
+    }
+    List<String> emails = rowsByEmail.values().stream().map(row -> employees.get(row).getEmail()).toList();
+    Flux<String> existingEmails = emails.isEmpty() ? Flux.empty() : employeeRepository.findExistingEmails(emails);
+    // one query for the whole chunk instead of a findByEmail per row
+    return existingEmails
+        .doOnNext(existingEmail -> {
+          Integer row = rowsByEmail.remove(existingEmail.toLowerCase(Locale.ROOT));
+          if (row != null) {
+            results[row] = EmployeeBatchResult.duplicate(row, existingEmail);
+          }
+        })
+        .thenMany(Flux.defer(() -> {
+          List<Integer> rowsToInsert = new ArrayList<>(rowsWithoutEmail);
+          rowsToInsert.addAll(rowsByEmail.values());
+          rowsToInsert.sort(null);
+          return Flux.fromIterable(rowsToInsert)
+              .concatMap(row -> employeeRepository.save(employees.get(row))
+                  .doOnNext(saved -> results[row] = EmployeeBatchResult.created(row, saved.getId())));
+        }))
+        .thenMany(Flux.defer(() -> Flux.fromIterable(Arrays.asList(results))));
+  }
+
+  @Override
+  public Flux<Employee> getAllEmployees() {
+    return employeeRepository.streamAll();
+  }
+
+  @Override
+  public Flux<Employee> getEmployeesAfter(long afterId, int limit) {
+    return employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+  }
+
+  @Override
+  public Flux<Map<String, Object>> getEmployeeFieldsAfter(List<String> fields, long afterId, int limit) {
+    return employeeRepository.findFieldsByIdGreaterThan(fields, afterId, limit);
+  }
+
+  @Override
+  public Flux<Employee> getEmployeesByName(String firstName, String lastName, long afterId, int limit) {
+    return employeeRepository.findByNameAndIdGreaterThan(firstName, lastName, afterId, limit);
+  }
+
+  @Override
+  public Mono<Employee> getEmployeeById(long id) {
+    return employeeRepository.findById(id);
+  }
+
+  @Override
+  @Transactional
+  public Mono<Employee> updateEmployee(long id, Employee employee, Long expectedVersion) {
+    Mono<Integer> updatedRows = expectedVersion == null
+        ? employeeRepository.updateById(id, employee.getFirstName(), employee.getLastName(), employee.getEmail())
+        : employeeRepository.updateByIdAndVersion(id, expectedVersion, employee.getFirstName(),
+            employee.getLastName(), employee.getEmail());
+    return updatedRows
+        .onErrorResume(DataIntegrityViolationException.class, e -> duplicateEmailOr(e, employee.getEmail(), id))
+        .flatMap(rows -> rows == 0
+            ? checkVersionConflict(id, expectedVersion).then(Mono.<Employee>empty())
+            // every column was written, the response is built from the request and the new version, which an
+            // unconditional update reads back
+            : (expectedVersion == null ? employeeRepository.findVersionById(id) : Mono.just(expectedVersion + 1))
+                .map(version -> Employee.builder()
+                    .id(id)
+                    .firstName(employee.getFirstName())
+                    .lastName(employee.getLastName())
+                    .email(employee.getEmail())
+                    .version(version)
+                    .build()));
+  }
+
+  @Override
+  @Transactional
+  public Mono<Long> patchEmployee(long id, Employee patch, Long expectedVersion) {
+    return employeeRepository.patchById(id, patch, expectedVersion)
+        .onErrorResume(DataIntegrityViolationException.class, e -> duplicateEmailOr(e, patch.getEmail(), id))
+        .flatMap(rows -> rows == 0
+            ? checkVersionConflict(id, expectedVersion).then(Mono.<Long>empty())
+            // the stored version, see EmployeeServiceImpl.patchEmployee
+            : expectedVersion == null
+                ? employeeRepository.findVersionById(id)
+                : Mono.just(isEmptyPatch(patch) ? expectedVersion : expectedVersion + 1));
+  }
+
+  @Override
+  public Mono<Boolean> deleteEmployeeById(long id) {
+    Mono<Integer> deletedRows = isSoftDelete()
+        ? employeeRepository.softDeleteById(id)
+        : employeeRepository.deleteRowById(id);
+    return deletedRows.map(rows -> rows > 0);
+  }
+
+  @Override
+  @Transactional
+  public Mono<Boolean> deleteEmployeeById(long id, long expectedVersion) {
+    Mono<Integer> deletedRows = isSoftDelete()
+        ? employeeRepository.softDeleteByIdAndVersion(id, expectedVersion)
+        : employeeRepository.deleteByIdAndVersion(id, expectedVersion);
+    return deletedRows
+        .flatMap(rows -> rows == 0
+            ? checkVersionConflict(id, expectedVersion).thenReturn(false)
+            : Mono.just(true));
+  }
+
+  // a conditional write touching no row either lost against a concurrent write or targeted a missing employee
+  private Mono<Void> checkVersionConflict(long id, Long expectedVersion) {
+    if (expectedVersion == null) {
+      return Mono.empty();
+    }
+    return employeeRepository.findVersionById(id).hasElement()
+        .flatMap(exists -> exists
+            ? Mono.error(new VersionConflictException(
+                "Employee " + id + " was modified, expected version: " + expectedVersion))
+            : Mono.empty());
+  }
+
+  // translates a constraint violation caused by another employee owning the email
+  private <T> Mono<T> duplicateEmailOr(DataIntegrityViolationException e, String email, long id) {
+    if (email == null) {
+      return Mono.error(e);
+    }
+    return employeeRepository.existsByEmailAndIdNot(email, id)
+        .flatMap(duplicate -> Mono.error(duplicate
+            ? new ResourceNotFoundException("Employee already exist with given email: " + email)
+            : e));
+  }
+
+  private boolean isSoftDelete() {
+    return "soft".equals(deleteMode);
+  }
+
+  private static boolean isEmptyPatch(Employee patch) {
+    return patch.getFirstName() == null && patch.getLastName() == null && patch.getEmail() == null;
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+}
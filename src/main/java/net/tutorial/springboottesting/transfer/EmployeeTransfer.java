@@ -0,0 +1,107 @@
+package net.tutorial.springboottesting.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Export and import of the whole employees table as CSV (header id,firstName,lastName,email) or NDJSON.
+// Both directions stream: the export writes each row as the JDBC cursor returns it, the import parses the
+// upload one row at a time and saves batchSize rows per transaction, memory does not grow with the table.
+// An import failing halfway keeps the batches saved so far, running it again is safe since rows are upserted.
+@Component
+@Profile("!reactive")
+public class EmployeeTransfer {
+
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  public enum Format {
+    CSV,
+    NDJSON
+  }
+
+  private static final CsvSchema EXPORT_SCHEMA = CsvSchema.builder()
+      .addColumn("id")
+      .addColumn("firstName")
+      .addColumn("lastName")
+      .addColumn("email")
+      .build()
+      .withHeader();
+
+  private EmployeeService employeeService;
+  private int batchSize;
+
+  private final ObjectWriter csvWriter;
+  private final ObjectReader csvReader;
+  private final ObjectWriter ndjsonWriter;
+  private final ObjectReader ndjsonReader;
+
+  public EmployeeTransfer(EmployeeService employeeService, ObjectMapper objectMapper,
+      @Value("${employee.batch.size:500}") int batchSize) {
+    this.employeeService = employeeService;
+    this.batchSize = batchSize;
+    // an empty cell is a missing value, columns other than the Employee fields are ignored
+    CsvMapper csvMapper = CsvMapper.builder()
+        .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL, CsvParser.Feature.SKIP_EMPTY_LINES)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .build();
+    this.csvWriter = csvMapper.writerFor(Employee.class).with(EXPORT_SCHEMA);
+    this.csvReader = csvMapper.readerFor(Employee.class).with(CsvSchema.emptySchema().withHeader());
+    this.ndjsonWriter = objectMapper.writerFor(Employee.class)
+        .withRootValueSeparator("\n")
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.ndjsonReader = objectMapper.readerFor(Employee.class);
+  }
+
+  // leaves the output stream open
+  public void export(Format format, OutputStream outputStream) throws IOException {
+    ObjectWriter writer = format == Format.CSV ? csvWriter : ndjsonWriter;
+    try (SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+      employeeService.exportEmployees(employee -> {
+        try {
+          sequenceWriter.write(employee);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+
+  public EmployeeImportResult importFrom(Format format, InputStream inputStream) throws IOException {
+    ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+    EmployeeImportResult result = EmployeeImportResult.EMPTY;
+    List<Employee> batch = new ArrayList<>(batchSize);
+    try (MappingIterator<Employee> employees = reader.readValues(inputStream)) {
+      while (employees.hasNextValue()) {
+        batch.add(employees.nextValue());
+        if (batch.size() == batchSize) {
+          result = result.plus(employeeService.importEmployees(batch));
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      result = result.plus(employeeService.importEmployees(batch));
+    }
+    return result;
+  }
+}
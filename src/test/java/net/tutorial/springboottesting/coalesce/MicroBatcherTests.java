@@ -0,0 +1,87 @@
+package net.tutorial.springboottesting.coalesce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTests {
+
+  private final List<Set<Long>> batches = new ArrayList<>();
+
+  // even ids exist, odd ids do not
+  private Map<Long, String> load(Set<Long> ids) {
+    synchronized (batches) {
+      batches.add(Set.copyOf(ids));
+    }
+    return ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toMap(Function.identity(), id -> "employee-" + id));
+  }
+
+  // JUnit test for concurrent loads filling a batch
+  @DisplayName("JUnit test for concurrent loads filling a batch")
+  @Test
+  void givenConcurrentLoadsForDifferentKeys_whenBatchIsFull_thenOneBatchLoad() throws Exception {
+    // given - precondition or setup
+    MicroBatcher<Long, String> microBatcher = new MicroBatcher<>(this::load, Duration.ofSeconds(10), 4);
+    Map<Long, String> results = new ConcurrentHashMap<>();
+    List<Thread> callers = new ArrayList<>();
+    for (long id = 1; id <= 4; id++) {
+      long key = id;
+      callers.add(new Thread(() -> {
+        String value = microBatcher.load(key);
+        results.put(key, value == null ? "missing" : value);
+      }));
+    }
+
+    // when - action or the behaviour that we are going test
+    callers.forEach(Thread::start);
+    for (Thread caller : callers) {
+      caller.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // then - verify the output
+    assertThat(batches).containsExactly(Set.of(1L, 2L, 3L, 4L));
+    assertThat(results).containsExactlyInAnyOrderEntriesOf(Map.of(
+        1L, "missing", 2L, "employee-2", 3L, "missing", 4L, "employee-4"));
+  }
+
+  // JUnit test for a single load once the window is over
+  @DisplayName("JUnit test for a single load once the window is over")
+  @Test
+  void givenSingleLoad_whenWindowIsOver_thenBatchOfOneKey() {
+    // given - precondition or setup
+    MicroBatcher<Long, String> microBatcher = new MicroBatcher<>(this::load, Duration.ofMillis(5), 100);
+
+    // when - action or the behaviour that we are going test
+    String value = microBatcher.load(2L);
+
+    // then - verify the output
+    assertThat(value).isEqualTo("employee-2");
+    assertThat(batches).containsExactly(Set.of(2L));
+  }
+
+  // JUnit test for loads after a batch has been loaded
+  @DisplayName("JUnit test for loads after a batch has been loaded")
+  @Test
+  void givenLoadedBatch_whenLoad_thenNewBatchIsOpened() {
+    // given - precondition or setup
+    MicroBatcher<Long, String> microBatcher = new MicroBatcher<>(this::load, Duration.ofMillis(5), 100);
+    microBatcher.load(2L);
+
+    // when - action or the behaviour that we are going test
+    String value = microBatcher.load(2L);
+
+    // then - verify the output
+    assertThat(value).isEqualTo("employee-2");
+    assertThat(batches).hasSize(2);
+  }
+}
@@ -0,0 +1,99 @@
+package net.tutorial.springboottesting.coalesce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+  private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+  // JUnit test for concurrent calls for the same key
+  @DisplayName("JUnit test for concurrent calls for the same key")
+  @Test
+  void givenConcurrentCallsForSameKey_whenExecute_thenLoaderRunsOnce() throws Exception {
+    // given - precondition or setup
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> results = new ArrayList<>();
+    List<Thread> callers = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      callers.add(new Thread(() -> {
+        String result = singleFlight.execute(1L, () -> {
+          loads.incrementAndGet();
+          await(release);
+          return "employee-1";
+        });
+        synchronized (results) {
+          results.add(result);
+        }
+      }));
+    }
+
+    // when - action or the behaviour that we are going test
+    callers.forEach(Thread::start);
+    // the loader only finishes once every caller is parked, either in the loader or waiting for it
+    awaitWaiting(callers);
+    release.countDown();
+    for (Thread caller : callers) {
+      caller.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // then - verify the output
+    assertThat(loads).hasValue(1);
+    assertThat(results).hasSize(8).containsOnly("employee-1");
+  }
+
+  // JUnit test for the next call after a load has finished
+  @DisplayName("JUnit test for the next call after a load has finished")
+  @Test
+  void givenFinishedLoad_whenExecute_thenLoadAgain() {
+    // given - precondition or setup
+    AtomicInteger loads = new AtomicInteger();
+    singleFlight.execute(1L, () -> "v" + loads.incrementAndGet());
+
+    // when - action or the behaviour that we are going test
+    String result = singleFlight.execute(1L, () -> "v" + loads.incrementAndGet());
+
+    // then - verify the output
+    assertThat(result).isEqualTo("v2");
+  }
+
+  // JUnit test for a failing loader
+  @DisplayName("JUnit test for a failing loader")
+  @Test
+  void givenFailingLoader_whenExecute_thenExceptionIsRethrown() {
+    // when - action or the behaviour that we are going test
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> singleFlight.execute(1L, () -> {
+          throw new IllegalStateException("database down");
+        }));
+
+    // then - verify the output
+    assertThat(exception).hasMessage("database down");
+    assertThat(singleFlight.execute(1L, () -> "recovered")).isEqualTo("recovered");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline && !threads.stream().allMatch(thread ->
+        thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)) {
+      Thread.sleep(5);
+    }
+  }
+}
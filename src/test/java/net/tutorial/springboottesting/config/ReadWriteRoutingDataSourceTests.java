@@ -0,0 +1,89 @@
+package net.tutorial.springboottesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteRoutingDataSourceTests {
+
+  private EmbeddedDatabase primary;
+  private EmbeddedDatabase replica;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setup() {
+    primary = database("primary");
+    replica = database("replica");
+    DataSource routingDataSource = ReadWriteRoutingDataSource.wrap(primary, replica);
+    jdbcTemplate = new JdbcTemplate(routingDataSource);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+  }
+
+  @AfterEach
+  void tearDown() {
+    primary.shutdown();
+    replica.shutdown();
+  }
+
+  // JUnit test for read-only transaction routed to the replica
+  @DisplayName("JUnit test for read-only transaction routed to the replica")
+  @Test
+  void givenReadOnlyTransaction_whenQuery_thenUseReplica() {
+    // given - precondition or setup
+    transactionTemplate.setReadOnly(true);
+
+    // when - action or the behaviour that we are going test
+    String database = transactionTemplate.execute(status -> currentDatabase());
+
+    // then - verify the output
+    assertThat(database).isEqualTo("replica");
+  }
+
+  // JUnit test for read-write transaction routed to the primary
+  @DisplayName("JUnit test for read-write transaction routed to the primary")
+  @Test
+  void givenReadWriteTransaction_whenQuery_thenUsePrimary() {
+    // when - action or the behaviour that we are going test
+    String database = transactionTemplate.execute(status -> currentDatabase());
+
+    // then - verify the output
+    assertThat(database).isEqualTo("primary");
+  }
+
+  // JUnit test for query outside of a transaction routed to the primary
+  @DisplayName("JUnit test for query outside of a transaction routed to the primary")
+  @Test
+  void givenNoTransaction_whenQuery_thenUsePrimary() {
+    // when - action or the behaviour that we are going test
+    String database = currentDatabase();
+
+    // then - verify the output
+    assertThat(database).isEqualTo("primary");
+  }
+
+  private String currentDatabase() {
+    return jdbcTemplate.queryForObject("select name from marker", String.class);
+  }
+
+  private static EmbeddedDatabase database(String name) {
+    EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("create table marker (name varchar(16))");
+    jdbcTemplate.update("insert into marker values (?)", name);
+    return database;
+  }
+}
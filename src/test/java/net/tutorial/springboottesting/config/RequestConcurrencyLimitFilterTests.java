@@ -0,0 +1,103 @@
+package net.tutorial.springboottesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestConcurrencyLimitFilterTests {
+
+  // JUnit test for request passing through the concurrency limit
+  @DisplayName("JUnit test for request passing through the concurrency limit")
+  @Test
+  void givenFreePermit_whenDoFilter_thenPassRequestAndReleasePermit() throws Exception {
+    // given - precondition or setup
+    RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10));
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when - action or the behaviour that we are going test
+    filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+
+    // then - verify the output
+    assertThat(chain.getRequest()).isNotNull();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    assertThat(filter.availablePermits()).isEqualTo(1);
+  }
+
+  // JUnit test for request rejected by the concurrency limit
+  @DisplayName("JUnit test for request rejected by the concurrency limit")
+  @Test
+  void givenNoFreePermit_whenDoFilter_thenReturn503() throws Exception {
+    // given - precondition or setup
+    RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10));
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    FilterChain blockingChain = (request, response) -> {
+      entered.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+    Thread holder = new Thread(() -> {
+      try {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), new MockHttpServletResponse(),
+            blockingChain);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    holder.start();
+    entered.await(5, TimeUnit.SECONDS);
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when - action or the behaviour that we are going test
+    filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+    release.countDown();
+    holder.join();
+
+    // then - verify the output
+    assertThat(chain.getRequest()).isNull();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    assertThat(filter.availablePermits()).isEqualTo(1);
+  }
+
+  // JUnit test for a streaming export holding its permit until the response is complete
+  @DisplayName("JUnit test for a streaming export holding its permit until the response is complete")
+  @Test
+  void givenStreamingExport_whenConcurrentRequest_thenReturn503UntilExportCompletes() throws Exception {
+    // given - precondition or setup
+    RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10));
+    // a StreamingResponseBody handler returns once async processing started, the body is written afterwards
+    FilterChain exportChain = (request, response) -> request.startAsync();
+    MockHttpServletRequest exportRequest = new MockHttpServletRequest("GET", "/api/employees/export");
+    exportRequest.setAsyncSupported(true);
+    filter.doFilter(exportRequest, new MockHttpServletResponse(), exportChain);
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when - action or the behaviour that we are going test
+    filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+    int permitsWhileStreaming = filter.availablePermits();
+    exportRequest.getAsyncContext().complete();
+
+    // then - verify the output
+    assertThat(chain.getRequest()).isNull();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    assertThat(permitsWhileStreaming).isZero();
+    assertThat(filter.availablePermits()).isEqualTo(1);
+  }
+}
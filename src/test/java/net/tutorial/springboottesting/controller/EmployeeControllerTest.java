@@ -1,34 +1,62 @@
 package net.tutorial.springboottesting.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import net.tutorial.springboottesting.config.WireFormatConfig;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.dto.EmployeeLookupResult;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
+import net.tutorial.springboottesting.exception.VersionConflictException;
 import net.tutorial.springboottesting.model.Employee;
 import net.tutorial.springboottesting.service.EmployeeService;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 @WebMvcTest
+@Import({EmployeeTransfer.class, WireFormatConfig.class})
 class EmployeeControllerTest {
 
   @Autowired
@@ -67,6 +95,67 @@ class EmployeeControllerTest {
         .andExpect(jsonPath("$.email", is(employee.getEmail())));
   }
 
+  // JUnit test for batch createEmployees end point with a JSON array
+  @DisplayName("JUnit test for batch createEmployees end point with a JSON array")
+  @Test
+  void givenJsonArrayOfEmployees_whenCreateEmployees_thenReturnPerRowResults() throws Exception {
+    // given - precondition or setup
+    List<Employee> employees = List.of(
+        Employee.builder().firstName("Mihail0").lastName("Cepraga0").email("mcepraga0@mail.com").build(),
+        Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga0@mail.com").build());
+    given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(List.of(
+        EmployeeBatchResult.created(0, 1L),
+        EmployeeBatchResult.duplicate(1, "mcepraga0@mail.com")));
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(
+        post("/api/employees/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(employees))
+    );
+
+    // then - verify the result or output using assert statements
+    response.andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.size()", is(2)))
+        .andExpect(jsonPath("$[0].status", is("CREATED")))
+        .andExpect(jsonPath("$[0].id", is(1)))
+        .andExpect(jsonPath("$[1].status", is("DUPLICATE")));
+  }
+
+  // JUnit test for batch createEmployees end point with NDJSON split in several batches
+  @DisplayName("JUnit test for batch createEmployees end point with NDJSON split in several batches")
+  @Test
+  void givenNdjsonLargerThanBatchSize_whenCreateEmployees_thenResultIndexesSpanAllBatches() throws Exception {
+    // given - precondition or setup
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 501; i++) {
+      content.append(objectMapper.writeValueAsString(Employee.builder()
+          .firstName("Mihail" + i).lastName("Cepraga" + i).email("mcepraga" + i + "@mail.com").build())).append('\n');
+    }
+    given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> {
+      List<Employee> batch = invocation.getArgument(0);
+      List<EmployeeBatchResult> results = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        results.add(EmployeeBatchResult.created(i, i + 1L));
+      }
+      return results;
+    });
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(
+        post("/api/employees/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(content.toString())
+    );
+
+    // then - verify the result or output using assert statements
+    response.andExpect(status().isOk())
+        .andExpect(jsonPath("$.size()", is(501)))
+        .andExpect(jsonPath("$[500].index", is(500)))
+        .andExpect(jsonPath("$[500].status", is("CREATED")));
+  }
+
   // JUnit test for getAllEmployees end point
   @DisplayName("JUnit test for getAllEmployees end point")
   @Test
@@ -85,7 +174,442 @@ class EmployeeControllerTest {
     // then - verify the output
     resultResponse.andExpect(status().isOk())
         .andDo(print())
-        .andExpect(jsonPath("$.size()", is(listOfEmployees.size())));
+        .andExpect(jsonPath("$.size()", is(listOfEmployees.size())))
+        .andExpect(header().string(EmployeeController.DEPRECATION, "true"))
+        .andExpect(header().string(HttpHeaders.LINK, EmployeeController.FIRST_PAGE_LINK));
+  }
+
+  // JUnit test for getAllEmployees end point in the binary formats
+  @DisplayName("JUnit test for getAllEmployees end point in the binary formats")
+  @Test
+  void givenBinaryAcceptHeader_whenGetAllEmployees_thenReturnEmployeesInThatFormat() throws Exception {
+    // given - precondition or setup
+    List<Employee> listOfEmployees = List.of(
+        Employee.builder().id(1L).firstName("Mihail0").lastName("Cepraga0").email("mcepraga0@mail.com").build(),
+        Employee.builder().id(2L).firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build());
+    given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+    MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // when - action or the behaviour that we are going test
+    byte[] smileBody = mockMvc.perform(get("/api/employees").accept(smile))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(smile))
+        .andReturn().getResponse().getContentAsByteArray();
+    byte[] cborBody = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    // then - verify the output
+    TypeReference<List<Employee>> employeeList = new TypeReference<>() {
+    };
+    assertThat(new ObjectMapper(new SmileFactory()).readValue(smileBody, employeeList))
+        .usingRecursiveFieldByFieldElementComparator().isEqualTo(listOfEmployees);
+    assertThat(new ObjectMapper(new CBORFactory()).readValue(cborBody, employeeList))
+        .usingRecursiveFieldByFieldElementComparator().isEqualTo(listOfEmployees);
+  }
+
+  // JUnit test for getAllEmployees end point without an Accept header
+  @DisplayName("JUnit test for getAllEmployees end point without an Accept header")
+  @Test
+  void givenAnyAcceptHeader_whenGetAllEmployees_thenReturnJson() throws Exception {
+    // given - precondition or setup
+    given(employeeService.getAllEmployees()).willReturn(List.of());
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees").accept(MediaType.ALL));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  // JUnit test for createEmployee end point with a CBOR body
+  @DisplayName("JUnit test for createEmployee end point with a CBOR body")
+  @Test
+  void givenCborEmployee_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
+    // given - precondition or setup
+    Employee employee = Employee.builder().firstName("Mihail").lastName("Cepraga").email("mcepraga@mail.com").build();
+    given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(post("/api/employees")
+        .contentType(MediaType.APPLICATION_CBOR)
+        .accept(MediaType.APPLICATION_JSON)
+        .content(new ObjectMapper(new CBORFactory()).writeValueAsBytes(employee)));
+
+    // then - verify the output
+    response.andExpect(status().isCreated())
+        .andExpect(jsonPath("$.email", is(employee.getEmail())));
+  }
+
+  // JUnit test for keyset paginated getAllEmployees end point
+  @DisplayName("JUnit test for keyset paginated getAllEmployees end point")
+  @Test
+  void givenAfterIdAndLimit_whenGetAllEmployees_thenReturnEmployeesPage() throws Exception {
+    // given - precondition or setup
+    List<Employee> page = List.of(
+        Employee.builder().id(11L).firstName("Mihail0").lastName("Cepraga0").email("mcepraga0@mail.com").build(),
+        Employee.builder().id(12L).firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build());
+    given(employeeService.getEmployeesAfter(10L, 2)).willReturn(page);
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees")
+        .param("after", "10")
+        .param("limit", "2"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.size()", is(page.size())))
+        .andExpect(jsonPath("$[0].id", is(11)))
+        .andExpect(header().doesNotExist(EmployeeController.DEPRECATION));
+  }
+
+  // JUnit test for keyset paginated getAllEmployees end point with a limit above the maximum
+  @DisplayName("JUnit test for keyset paginated getAllEmployees end point with a limit above the maximum")
+  @Test
+  void givenLimitAboveMaximum_whenGetAllEmployees_thenLimitIsCapped() throws Exception {
+    // given - precondition or setup
+    given(employeeService.getEmployeesAfter(0L, EmployeeController.MAX_PAGE_LIMIT)).willReturn(List.of());
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees").param("limit", "1000000"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.size()", is(0)));
+  }
+
+  // JUnit test for getEmployeesByName end point
+  @DisplayName("JUnit test for getEmployeesByName end point")
+  @Test
+  void givenFirstNameAndLastName_whenGetEmployeesByName_thenReturnAllMatches() throws Exception {
+    // given - precondition or setup
+    List<Employee> namesakes = List.of(
+        Employee.builder().id(1L).firstName("Mihail").lastName("Cepraga").email("mcepraga0@mail.com").build(),
+        Employee.builder().id(2L).firstName("Mihail").lastName("Cepraga").email("mcepraga1@mail.com").build());
+    given(employeeService.getEmployeesByName("Mihail", "Cepraga", 0L, EmployeeController.DEFAULT_PAGE_LIMIT))
+        .willReturn(namesakes);
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees")
+        .param("firstName", "Mihail")
+        .param("lastName", "Cepraga"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.size()", is(namesakes.size())))
+        .andExpect(jsonPath("$[1].email", is("mcepraga1@mail.com")));
+  }
+
+  // JUnit test for getEmployeeFields end point
+  @DisplayName("JUnit test for getEmployeeFields end point")
+  @Test
+  void givenFields_whenGetEmployeeFields_thenReturnOnlyThoseFields() throws Exception {
+    // given - precondition or setup
+    given(employeeService.getEmployeeFieldsAfter(List.of("id", "email"), 0L, EmployeeController.DEFAULT_PAGE_LIMIT))
+        .willReturn(List.of(Map.of("id", 1L, "email", "mcepraga@mail.com")));
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees").param("fields", "id, email"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.size()", is(1)))
+        .andExpect(jsonPath("$[0].email", is("mcepraga@mail.com")))
+        .andExpect(jsonPath("$[0].firstName").doesNotExist());
+  }
+
+  // negative scenario - unknown field
+  // JUnit test for getEmployeeFields end point
+  @DisplayName("JUnit test for getEmployeeFields end point negative scenario")
+  @Test
+  void givenUnknownField_whenGetEmployeeFields_thenReturn400() throws Exception {
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees").param("fields", "id,version"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isBadRequest())
+        .andDo(print());
+  }
+
+  // negative scenario - two selections in one request
+  // JUnit test for getAllEmployees end point
+  @DisplayName("JUnit test for getAllEmployees end point with conflicting selections")
+  @Test
+  void givenIdsAndFields_whenGetAllEmployees_thenReturn400() throws Exception {
+    // when - action or the behaviour that we are going test
+    ResultActions idsAndFields = mockMvc.perform(get("/api/employees").param("ids", "1").param("fields", "email"));
+    ResultActions nameAndIds = mockMvc.perform(get("/api/employees")
+        .param("firstName", "Mihail")
+        .param("lastName", "Cepraga")
+        .param("ids", "1"));
+    ResultActions firstNameOnly = mockMvc.perform(get("/api/employees").param("firstName", "Mihail"));
+
+    // then - verify the output
+    idsAndFields.andExpect(status().isBadRequest())
+        .andDo(print());
+    nameAndIds.andExpect(status().isBadRequest());
+    firstNameOnly.andExpect(status().isBadRequest());
+    verifyNoInteractions(employeeService);
+  }
+
+  // JUnit test for getEmployeeSummaries end point
+  @DisplayName("JUnit test for getEmployeeSummaries end point")
+  @Test
+  void givenEmployees_whenGetEmployeeSummaries_thenReturnIdAndName() throws Exception {
+    // given - precondition or setup
+    given(employeeService.getEmployeeSummariesAfter(0L, EmployeeController.DEFAULT_PAGE_LIMIT))
+        .willReturn(List.of(new EmployeeSummary(1L, "Mihail", "Cepraga")));
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees/summaries"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$[0].lastName", is("Cepraga")))
+        .andExpect(jsonPath("$[0].email").doesNotExist());
+  }
+
+  // JUnit test for getEmployeesByIds end point
+  @DisplayName("JUnit test for getEmployeesByIds end point")
+  @Test
+  void givenIds_whenGetEmployeesByIds_thenReturnEmployeesInRequestOrderAndMissingIds() throws Exception {
+    // given - precondition or setup
+    Employee first = Employee.builder().id(3L).firstName("Mihail").lastName("Cepraga").email("mcepraga@mail.com").build();
+    Employee second = Employee.builder().id(1L).firstName("Ana").lastName("Rusu").email("arusu@mail.com").build();
+    given(employeeService.getEmployeesByIds(List.of(3L, 1L, 2L)))
+        .willReturn(new EmployeeLookupResult(List.of(first, second), List.of(2L)));
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees").param("ids", "3,1,2"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.employees.size()", is(2)))
+        .andExpect(jsonPath("$.employees[0].id", is(3)))
+        .andExpect(jsonPath("$.employees[1].id", is(1)))
+        .andExpect(jsonPath("$.missingIds[0]", is(2)));
+  }
+
+  // JUnit test for lookupEmployees end point
+  @DisplayName("JUnit test for lookupEmployees end point")
+  @Test
+  void givenIdsInBody_whenLookupEmployees_thenReturnEmployees() throws Exception {
+    // given - precondition or setup
+    Employee employee = Employee.builder().id(1L).firstName("Ana").lastName("Rusu").email("arusu@mail.com").build();
+    given(employeeService.getEmployeesByIds(List.of(1L, 5L)))
+        .willReturn(new EmployeeLookupResult(List.of(employee), List.of(5L)));
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(post("/api/employees/lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("[1, 5]"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.employees[0].email", is("arusu@mail.com")))
+        .andExpect(jsonPath("$.missingIds[0]", is(5)));
+  }
+
+  // negative scenario - too many ids
+  // JUnit test for getEmployeesByIds end point
+  @DisplayName("JUnit test for getEmployeesByIds end point negative scenario")
+  @Test
+  void givenTooManyIds_whenGetEmployeesByIds_thenReturn400() throws Exception {
+    // given - precondition or setup
+    String ids = String.join(",", Collections.nCopies(EmployeeController.MAX_PAGE_LIMIT + 1, "1"));
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees").param("ids", ids));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isBadRequest())
+        .andDo(print());
+  }
+
+  // JUnit test for searchEmployees end point
+  @DisplayName("JUnit test for searchEmployees end point")
+  @Test
+  void givenQuery_whenSearchEmployees_thenReturnRankedMatches() throws Exception {
+    // given - precondition or setup
+    List<Employee> matches = List.of(
+        Employee.builder().id(1L).firstName("Mihail").lastName("Cepraga").email("mcepraga@mail.com").build(),
+        Employee.builder().id(2L).firstName("Mihaela").lastName("Popescu").email("mpopescu@mail.com").build());
+    given(employeeService.searchEmployees("mih", EmployeeController.MAX_SEARCH_LIMIT)).willReturn(matches);
+
+    // when - action or the behaviour that we are going test
+    ResultActions resultResponse = mockMvc.perform(get("/api/employees/search")
+        .param("q", "mih")
+        .param("limit", "1000"));
+
+    // then - verify the output
+    resultResponse.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.size()", is(matches.size())))
+        .andExpect(jsonPath("$[0].firstName", is("Mihail")));
+  }
+
+  // JUnit test for NDJSON streaming end point
+  @DisplayName("JUnit test for NDJSON streaming end point")
+  @Test
+  void givenEmployees_whenStreamEmployeesAsNdjson_thenReturnOneEmployeePerLine() throws Exception {
+    // given - precondition or setup
+    givenStreamedEmployees();
+
+    // when - action or the behaviour that we are going test
+    MvcResult mvcResult = mockMvc.perform(get("/api/employees/stream").accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then - verify the output
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(
+            "{\"id\":1,\"firstName\":\"Mihail0\",\"lastName\":\"Cepraga0\",\"email\":\"mcepraga0@mail.com\"}\n"
+                + "{\"id\":2,\"firstName\":\"Mihail1\",\"lastName\":\"Cepraga1\",\"email\":\"mcepraga1@mail.com\"}"));
+  }
+
+  // JUnit test for JSON array streaming end point
+  @DisplayName("JUnit test for JSON array streaming end point")
+  @Test
+  void givenEmployees_whenStreamEmployeesAsJsonArray_thenReturnEmployeesArray() throws Exception {
+    // given - precondition or setup
+    givenStreamedEmployees();
+
+    // when - action or the behaviour that we are going test
+    MvcResult mvcResult = mockMvc.perform(get("/api/employees/stream").accept(MediaType.APPLICATION_JSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then - verify the output
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.size()", is(2)))
+        .andExpect(jsonPath("$[1].email", is("mcepraga1@mail.com")));
+  }
+
+  // JUnit test for CSV export end point
+  @DisplayName("JUnit test for CSV export end point")
+  @Test
+  void givenEmployees_whenExportEmployeesAsCsv_thenReturnHeaderAndOneRowPerEmployee() throws Exception {
+    // given - precondition or setup
+    givenExportedEmployees();
+
+    // when - action or the behaviour that we are going test
+    MvcResult mvcResult = mockMvc.perform(get("/api/employees/export").accept(EmployeeTransfer.TEXT_CSV_VALUE))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then - verify the output
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(content().contentType(EmployeeTransfer.TEXT_CSV_VALUE))
+        .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\""))
+        .andExpect(content().string("id,firstName,lastName,email\n"
+            + "1,Mihail0,Cepraga0,mcepraga0@mail.com\n"
+            + "2,\"Mihail, Jr.\",Cepraga1,\n"));
+  }
+
+  // JUnit test for NDJSON export end point
+  @DisplayName("JUnit test for NDJSON export end point")
+  @Test
+  void givenEmployees_whenExportEmployeesAsNdjson_thenReturnOneEmployeePerLine() throws Exception {
+    // given - precondition or setup
+    givenExportedEmployees();
+
+    // when - action or the behaviour that we are going test
+    MvcResult mvcResult = mockMvc.perform(get("/api/employees/export").accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then - verify the output
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(
+            "{\"id\":1,\"firstName\":\"Mihail0\",\"lastName\":\"Cepraga0\",\"email\":\"mcepraga0@mail.com\"}\n"
+                + "{\"id\":2,\"firstName\":\"Mihail, Jr.\",\"lastName\":\"Cepraga1\",\"email\":null}"));
+  }
+
+  // JUnit test for CSV import end point
+  @DisplayName("JUnit test for CSV import end point")
+  @Test
+  void givenCsvFile_whenImportEmployees_thenReturnImportCounts() throws Exception {
+    // given - precondition or setup
+    List<Employee> imported = new ArrayList<>();
+    given(employeeService.importEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> {
+      imported.addAll(invocation.getArgument(0));
+      return new EmployeeImportResult(1, 1, 0);
+    });
+    String csv = "id,firstName,lastName,email\n"
+        + "7,Mihail,Cepraga,mcepraga@mail.com\n"
+        + "\n"
+        + "8,\"Ana, Maria\",Rusu,\n";
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(post("/api/employees/import")
+        .contentType(EmployeeTransfer.TEXT_CSV_VALUE)
+        .content(csv));
+
+    // then - verify the output
+    response.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.inserted", is(1)))
+        .andExpect(jsonPath("$.updated", is(1)))
+        .andExpect(jsonPath("$.invalid", is(0)));
+    assertThat(imported).extracting(Employee::getFirstName, Employee::getEmail)
+        .containsExactly(tuple("Mihail", "mcepraga@mail.com"), tuple("Ana, Maria", null));
+  }
+
+  // JUnit test for NDJSON import end point
+  @DisplayName("JUnit test for NDJSON import end point")
+  @Test
+  void givenNdjsonFile_whenImportEmployees_thenReturnImportCounts() throws Exception {
+    // given - precondition or setup
+    given(employeeService.importEmployees(ArgumentMatchers.anyList())).willReturn(new EmployeeImportResult(2, 0, 0));
+    String ndjson = "{\"firstName\":\"Mihail\",\"lastName\":\"Cepraga\",\"email\":\"mcepraga@mail.com\"}\n"
+        + "{\"firstName\":\"Ana\",\"lastName\":\"Rusu\",\"email\":\"arusu@mail.com\"}\n";
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(post("/api/employees/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content(ndjson));
+
+    // then - verify the output
+    response.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.inserted", is(2)));
+  }
+
+  private void givenExportedEmployees() {
+    willAnswer(invocation -> {
+      Consumer<Employee> consumer = invocation.getArgument(0);
+      consumer.accept(Employee.builder().id(1L).firstName("Mihail0").lastName("Cepraga0").email("mcepraga0@mail.com").build());
+      consumer.accept(Employee.builder().id(2L).firstName("Mihail, Jr.").lastName("Cepraga1").build());
+      return null;
+    }).given(employeeService).exportEmployees(any());
+  }
+
+  private void givenStreamedEmployees() {
+    willAnswer(invocation -> {
+      Consumer<Employee> consumer = invocation.getArgument(0);
+      consumer.accept(Employee.builder().id(1L).firstName("Mihail0").lastName("Cepraga0").email("mcepraga0@mail.com").build());
+      consumer.accept(Employee.builder().id(2L).firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build());
+      return null;
+    }).given(employeeService).streamAllEmployees(any());
   }
 
   // positive scenario - void employee id
@@ -114,6 +638,46 @@ class EmployeeControllerTest {
         .andExpect(jsonPath("$.email", is(employee.getEmail())));
   }
 
+  // JUnit test for GET employee by id REST API returning the version as ETag
+  @DisplayName("JUnit test for GET employee by id REST API returning the version as ETag")
+  @Test
+  void givenEmployeeId_whenGetEmployeeById_thenReturnVersionAsETag() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee employee = Employee.builder().id(employeeId).firstName("Mihail").lastName("Cepraga")
+        .email("mcepraga@mail.com").version(3L).build();
+    given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+
+    // then - verify the output
+    response.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+        .andExpect(jsonPath("$.version").doesNotExist());
+  }
+
+  // JUnit test for conditional GET employee by id REST API
+  @DisplayName("JUnit test for conditional GET employee by id REST API")
+  @Test
+  void givenMatchingIfNoneMatch_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee employee = Employee.builder().id(employeeId).firstName("Mihail").lastName("Cepraga")
+        .email("mcepraga@mail.com").version(3L).build();
+    given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+    // then - verify the output
+    response.andExpect(status().isNotModified())
+        .andDo(print())
+        .andExpect(content().string(""));
+  }
+
   // negative scenario - void employee id
   // JUnit test for GET employee by id REST API
   @DisplayName("JUnit test for GET employee by id REST API negative scenario")
@@ -149,8 +713,12 @@ class EmployeeControllerTest {
         .lastName("Cepraga1")
         .email("mcepraga1@mail.com")
         .build();
-    given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
-    given(employeeService.updateEmployee(any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
+    given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.isNull()))
+        .willAnswer((invocation) -> {
+          Employee saved = invocation.getArgument(1);
+          saved.setVersion(5L);
+          return Optional.of(saved);
+        });
 
     // when - action or the behaviour that we are going test
     ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -160,11 +728,132 @@ class EmployeeControllerTest {
     // then - verify the output
     response.andExpect(status().isOk())
         .andDo(print())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
         .andExpect(jsonPath("$.firstName", is(updatedEmployee.getFirstName())))
         .andExpect(jsonPath("$.lastName", is(updatedEmployee.getLastName())))
         .andExpect(jsonPath("$.email", is(updatedEmployee.getEmail())));
   }
 
+  // JUnit test for conditional update employee REST API
+  @DisplayName("JUnit test for conditional update employee REST API")
+  @Test
+  void givenMatchingIfMatch_whenUpdateEmployee_thenReturnNextVersionAsETag() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee updatedEmployee = Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build();
+    given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.eq(3L)))
+        .willAnswer((invocation) -> {
+          Employee employee = invocation.getArgument(1);
+          employee.setVersion(4L);
+          return Optional.of(employee);
+        });
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(updatedEmployee))
+    );
+
+    // then - verify the output
+    response.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  // JUnit test for conditional update employee REST API with a stale version
+  @DisplayName("JUnit test for conditional update employee REST API with a stale version")
+  @Test
+  void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee updatedEmployee = Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build();
+    given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.eq(2L)))
+        .willThrow(new VersionConflictException("Employee 1 was modified, expected version: 2"));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "\"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(updatedEmployee))
+    );
+
+    // then - verify the output
+    response.andExpect(status().isPreconditionFailed())
+        .andDo(print());
+  }
+
+  // JUnit test for conditional update employee REST API with a weak entity tag
+  @DisplayName("JUnit test for conditional update employee REST API with a weak entity tag")
+  @Test
+  void givenWeakIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee updatedEmployee = Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build();
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(updatedEmployee))
+    );
+
+    // then - verify the output
+    response.andExpect(status().isPreconditionFailed())
+        .andDo(print());
+    verify(employeeService, never()).updateEmployee(ArgumentMatchers.anyLong(), any(Employee.class), any());
+  }
+
+  // JUnit test for conditional update employee REST API with a list of entity tags
+  @DisplayName("JUnit test for conditional update employee REST API with a list of entity tags")
+  @Test
+  void givenIfMatchListWithCurrentVersion_whenUpdateEmployee_thenUpdateWithCurrentVersion() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee updatedEmployee = Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build();
+    given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(2L));
+    given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.eq(2L)))
+        .willAnswer((invocation) -> {
+          Employee employee = invocation.getArgument(1);
+          employee.setVersion(3L);
+          return Optional.of(employee);
+        });
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "\"1\", W/\"3\", \"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(updatedEmployee))
+    );
+
+    // then - verify the output
+    response.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+  }
+
+  // JUnit test for conditional update employee REST API with a list of stale entity tags
+  @DisplayName("JUnit test for conditional update employee REST API with a list of stale entity tags")
+  @Test
+  void givenIfMatchListWithoutCurrentVersion_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    Employee updatedEmployee = Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga1@mail.com").build();
+    given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(4L));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "\"1\", \"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(updatedEmployee))
+    );
+
+    // then - verify the output
+    response.andExpect(status().isPreconditionFailed())
+        .andDo(print());
+    verify(employeeService, never()).updateEmployee(ArgumentMatchers.anyLong(), any(Employee.class), any());
+  }
+
   // JUnit test for update employee REST API - negative scenario
   @DisplayName("JUnit test for update employee REST API - negative scenario")
   @Test
@@ -176,8 +865,8 @@ class EmployeeControllerTest {
         .lastName("Cepraga1")
         .email("mcepraga1@mail.com")
         .build();
-    given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-    given(employeeService.updateEmployee(any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
+    given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.isNull()))
+        .willReturn(Optional.empty());
 
     // when - action or the behaviour that we are going test
     ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -189,13 +878,76 @@ class EmployeeControllerTest {
         .andDo(print());
   }
 
+  // JUnit test for patch employee REST API - positive scenario
+  @DisplayName("JUnit test for patch employee REST API - positive scenario")
+  @Test
+  void givenPartialEmployee_whenPatchEmployee_thenReturnNoContent() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    given(employeeService.patchEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.isNull()))
+        .willReturn(Optional.of(4L));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"Mihail1\"}")
+    );
+
+    // then - verify the output
+    response.andExpect(status().isNoContent())
+        .andDo(print())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  // JUnit test for conditional patch employee REST API with an empty body
+  @DisplayName("JUnit test for conditional patch employee REST API with an empty body")
+  @Test
+  void givenEmptyBodyAndIfMatch_whenPatchEmployee_thenReturnStoredVersion() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    given(employeeService.patchEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.eq(2L)))
+        .willReturn(Optional.of(2L));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "\"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{}")
+    );
+
+    // then - verify the output
+    response.andExpect(status().isNoContent())
+        .andDo(print())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+  }
+
+  // JUnit test for patch employee REST API - negative scenario
+  @DisplayName("JUnit test for patch employee REST API - negative scenario")
+  @Test
+  void givenPartialEmployee_whenPatchEmployee_thenReturnNOT_FOUND() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    given(employeeService.patchEmployee(ArgumentMatchers.eq(employeeId), any(Employee.class), ArgumentMatchers.isNull()))
+        .willReturn(Optional.empty());
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"Mihail1\"}")
+    );
+
+    // then - verify the output
+    response.andExpect(status().isNotFound())
+        .andDo(print());
+  }
+
   // JUnit test for delete employee REST API
   @DisplayName("JUnit test for delete employee REST API")
   @Test
   void givenEmployeeId_whenDeleteEmployee_thenReturnOK() throws Exception {
     // given - precondition or setup
     long employeeId = 1L;
-    willDoNothing().given(employeeService).deleteEmployeeById(employeeId);
+    given(employeeService.deleteEmployeeById(employeeId)).willReturn(true);
 
     // when - action or the behaviour that we are going test
     ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
@@ -204,4 +956,71 @@ class EmployeeControllerTest {
     response.andExpect(status().isOk())
         .andDo(print());
   }
-}
\ No newline at end of file
+
+  // negative scenario - invalid employee id
+  // JUnit test for delete employee REST API
+  @DisplayName("JUnit test for delete employee REST API negative scenario")
+  @Test
+  void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    given(employeeService.deleteEmployeeById(employeeId)).willReturn(false);
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
+
+    // then - verify the output
+    response.andExpect(status().isNotFound())
+        .andDo(print());
+  }
+
+  // JUnit test for bulk delete employees REST API
+  @DisplayName("JUnit test for bulk delete employees REST API")
+  @Test
+  void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+    // given - precondition or setup
+    given(employeeService.deleteEmployeesByIds(List.of(1L, 2L, 3L))).willReturn(2);
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", "1,2,3"));
+
+    // then - verify the output
+    response.andExpect(status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.deleted", is(2)));
+  }
+
+  // negative scenario - too many ids
+  // JUnit test for bulk delete employees REST API
+  @DisplayName("JUnit test for bulk delete employees REST API negative scenario")
+  @Test
+  void givenTooManyIds_whenDeleteEmployees_thenReturn400() throws Exception {
+    // given - precondition or setup
+    String ids = String.join(",", Collections.nCopies(EmployeeController.MAX_PAGE_LIMIT + 1, "1"));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", ids));
+
+    // then - verify the output
+    response.andExpect(status().isBadRequest())
+        .andDo(print());
+  }
+
+  // JUnit test for conditional delete employee REST API with a stale version
+  @DisplayName("JUnit test for conditional delete employee REST API with a stale version")
+  @Test
+  void givenStaleIfMatch_whenDeleteEmployee_thenReturnPreconditionFailed() throws Exception {
+    // given - precondition or setup
+    long employeeId = 1L;
+    given(employeeService.deleteEmployeeById(employeeId, 2L))
+        .willThrow(new VersionConflictException("Employee 1 was modified, expected version: 2"));
+
+    // when - action or the behaviour that we are going test
+    ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId)
+        .header(HttpHeaders.IF_MATCH, "\"2\""));
+
+    // then - verify the output
+    response.andExpect(status().isPreconditionFailed())
+        .andDo(print());
+  }
+}
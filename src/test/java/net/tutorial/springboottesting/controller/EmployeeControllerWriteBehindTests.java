@@ -0,0 +1,146 @@
+package net.tutorial.springboottesting.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Optional;
+import net.tutorial.springboottesting.dto.EmployeeIngestStatus;
+import net.tutorial.springboottesting.ingest.EmployeeWriteBehindQueue;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+// EmployeeController with employee.ingest.mode=write-behind
+@WebMvcTest(EmployeeController.class)
+class EmployeeControllerWriteBehindTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @MockBean
+  private EmployeeService employeeService;
+  @MockBean
+  private EmployeeTransfer employeeTransfer;
+  @MockBean
+  private EmployeeWriteBehindQueue writeBehindQueue;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final Employee employee = Employee.builder()
+      .firstName("Mihail")
+      .lastName("Cepraga")
+      .email("mcepraga@mail.com")
+      .build();
+
+  // JUnit test for createEmployee end point in write-behind mode
+  @DisplayName("JUnit test for createEmployee end point in write-behind mode")
+  @Test
+  void givenEmployeeObject_whenCreateEmployee_thenReturn202WithTrackingId() throws Exception {
+    // given - precondition or setup
+    given(writeBehindQueue.submit(any(Employee.class))).willReturn(Optional.of("tracking-1"));
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(post("/api/employees")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the result or output using assert statements
+    response.andDo(print())
+        .andExpect(status().isAccepted())
+        .andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/ingest/tracking-1"))
+        .andExpect(jsonPath("$.trackingId", is("tracking-1")))
+        .andExpect(jsonPath("$.state", is("QUEUED")));
+    verify(employeeService, never()).saveEmployee(any(Employee.class));
+  }
+
+  // negative scenario - queue full
+  // JUnit test for createEmployee end point in write-behind mode
+  @DisplayName("JUnit test for createEmployee end point in write-behind mode negative scenario")
+  @Test
+  void givenFullQueue_whenCreateEmployee_thenReturn429() throws Exception {
+    // given - precondition or setup
+    given(writeBehindQueue.submit(any(Employee.class))).willReturn(Optional.empty());
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(post("/api/employees")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the result or output using assert statements
+    response.andDo(print())
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+  }
+
+  // negative scenario - missing last name
+  // JUnit test for createEmployee end point in write-behind mode
+  @DisplayName("JUnit test for createEmployee end point in write-behind mode with an invalid employee")
+  @Test
+  void givenEmployeeWithoutLastName_whenCreateEmployee_thenReturn400() throws Exception {
+    // given - precondition or setup
+    employee.setLastName(" ");
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(post("/api/employees")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the result or output using assert statements
+    response.andDo(print())
+        .andExpect(status().isBadRequest());
+    verify(writeBehindQueue, never()).submit(any(Employee.class));
+  }
+
+  // JUnit test for getIngestStatus end point
+  @DisplayName("JUnit test for getIngestStatus end point")
+  @Test
+  void givenTrackingId_whenGetIngestStatus_thenReturnStatus() throws Exception {
+    // given - precondition or setup
+    given(writeBehindQueue.status("tracking-1")).willReturn(Optional.of(
+        new EmployeeIngestStatus("tracking-1", EmployeeIngestStatus.State.CREATED, 41L, null)));
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(get("/api/employees/ingest/{trackingId}", "tracking-1"));
+
+    // then - verify the result or output using assert statements
+    response.andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.state", is("CREATED")))
+        .andExpect(jsonPath("$.id", is(41)));
+  }
+
+  // negative scenario - unknown tracking id
+  // JUnit test for getIngestStatus end point
+  @DisplayName("JUnit test for getIngestStatus end point negative scenario")
+  @Test
+  void givenUnknownTrackingId_whenGetIngestStatus_thenReturn404() throws Exception {
+    // given - precondition or setup
+    given(writeBehindQueue.status("unknown")).willReturn(Optional.empty());
+
+    // when - action or behaviour that we are going test
+    ResultActions response = mockMvc.perform(get("/api/employees/ingest/{trackingId}", "unknown"));
+
+    // then - verify the result or output using assert statements
+    response.andDo(print())
+        .andExpect(status().isNotFound());
+  }
+}
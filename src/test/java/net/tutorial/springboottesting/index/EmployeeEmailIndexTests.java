@@ -0,0 +1,106 @@
+package net.tutorial.springboottesting.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.stream.Stream;
+import net.tutorial.springboottesting.dto.EmployeeEmail;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeEmailIndexTests {
+
+  @Mock
+  private EmployeeRepository employeeRepository;
+
+  private EmployeeEmailIndex employeeEmailIndex;
+
+  @BeforeEach
+  void setup() {
+    employeeEmailIndex = new EmployeeEmailIndex(employeeRepository);
+  }
+
+  // JUnit test for reload method
+  @DisplayName("JUnit test for reload method")
+  @Test
+  void givenEmployeesInDatabase_whenReload_thenIndexContainsTheirEmails() {
+    // given - precondition or setup
+    employeeEmailIndex.put(99L, "stale@mail.com");
+    given(employeeRepository.streamAllEmails()).willReturn(Stream.of(
+        new EmployeeEmail(1L, "mihail@mail.com"),
+        new EmployeeEmail(2L, "mihail2@mail.com")));
+
+    // when - action or the behaviour that we are going test
+    employeeEmailIndex.reload();
+
+    // then - verify the output
+    assertThat(employeeEmailIndex.size()).isEqualTo(2);
+    assertThat(employeeEmailIndex.contains("stale@mail.com")).isFalse();
+    assertThat(employeeEmailIndex.findId("mihail2@mail.com")).contains(2L);
+  }
+
+  // JUnit test for contains method ignoring case
+  @DisplayName("JUnit test for contains method ignoring case")
+  @Test
+  void givenIndexedEmail_whenContainsWithDifferentCase_thenReturnTrue() {
+    // given - precondition or setup
+    employeeEmailIndex.put(1L, "Mihail@Mail.com");
+
+    // when - action or the behaviour that we are going test
+    boolean contains = employeeEmailIndex.contains("mihail@mail.COM");
+
+    // then - verify the output
+    assertThat(contains).isTrue();
+  }
+
+  // JUnit test for put method when the email of an employee changes
+  @DisplayName("JUnit test for put method when the email of an employee changes")
+  @Test
+  void givenIndexedEmployee_whenPutWithNewEmail_thenOldEmailIsReleased() {
+    // given - precondition or setup
+    employeeEmailIndex.put(1L, "mihail@mail.com");
+
+    // when - action or the behaviour that we are going test
+    employeeEmailIndex.put(1L, "mihail.new@mail.com");
+
+    // then - verify the output
+    assertThat(employeeEmailIndex.contains("mihail@mail.com")).isFalse();
+    assertThat(employeeEmailIndex.findId("mihail.new@mail.com")).contains(1L);
+  }
+
+  // JUnit test for remove method after the email was taken over by another employee
+  @DisplayName("JUnit test for remove method after the email was taken over by another employee")
+  @Test
+  void givenEmailReassigned_whenRemovePreviousOwner_thenEmailStaysIndexed() {
+    // given - precondition or setup
+    employeeEmailIndex.put(1L, "mihail@mail.com");
+    employeeEmailIndex.put(2L, "mihail@mail.com");
+
+    // when - action or the behaviour that we are going test
+    employeeEmailIndex.remove(1L);
+
+    // then - verify the output
+    assertThat(employeeEmailIndex.findId("mihail@mail.com")).contains(2L);
+  }
+
+  // JUnit test for remove method
+  @DisplayName("JUnit test for remove method")
+  @Test
+  void givenIndexedEmployee_whenRemove_thenEmailIsNotContained() {
+    // given - precondition or setup
+    employeeEmailIndex.put(1L, "mihail@mail.com");
+
+    // when - action or the behaviour that we are going test
+    employeeEmailIndex.remove(1L);
+
+    // then - verify the output
+    assertThat(employeeEmailIndex.contains("mihail@mail.com")).isFalse();
+    assertThat(employeeEmailIndex.size()).isZero();
+  }
+}
@@ -0,0 +1,168 @@
+package net.tutorial.springboottesting.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.stream.Stream;
+import net.tutorial.springboottesting.dto.EmployeeSearchEntry;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTests {
+
+  @Mock
+  private EmployeeRepository employeeRepository;
+
+  private EmployeeSearchIndex employeeSearchIndex;
+
+  @BeforeEach
+  void setup() {
+    employeeSearchIndex = new EmployeeSearchIndex(employeeRepository);
+    employeeSearchIndex.put(1L, "Mihail", "Cepraga", "mcepraga@mail.com");
+    employeeSearchIndex.put(2L, "Mihaela", "Popescu", "mpopescu@mail.com");
+    employeeSearchIndex.put(3L, "Ion", "Mihailescu", "imihailescu@mail.com");
+    employeeSearchIndex.put(4L, "Ana", "Rusu", "arusu@mail.com");
+  }
+
+  // JUnit test for search method with a prefix
+  @DisplayName("JUnit test for search method with a prefix")
+  @Test
+  void givenPrefix_whenSearch_thenReturnEmployeesWithTokensStartingWithIt() {
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("Mih", 10);
+
+    // then - verify the output
+    assertThat(employees).extracting(Employee::getId).containsExactly(1L, 2L, 3L);
+  }
+
+  // JUnit test for search method with more prefix matches than the limit
+  @DisplayName("JUnit test for search method with more prefix matches than the limit")
+  @Test
+  void givenMorePrefixMatchesThanLimit_whenSearch_thenReturnExactTokenFirstThenLowestIds() {
+    // given - precondition or setup
+    for (long id = 29; id >= 20; id--) {
+      employeeSearchIndex.put(id, "Mihnea", "Albu", "malbu" + id + "@mail.com");
+    }
+    employeeSearchIndex.put(30L, "Mih", "Albu", "malbu30@mail.com");
+
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("mih", 3);
+
+    // then - verify the output
+    assertThat(employees).extracting(Employee::getId).containsExactly(30L, 1L, 2L);
+  }
+
+  // JUnit test for search method with a misspelt name
+  @DisplayName("JUnit test for search method with a misspelt name")
+  @Test
+  void givenMisspeltName_whenSearch_thenReturnClosestEmployee() {
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("cepraha", 10);
+
+    // then - verify the output
+    assertThat(employees).extracting(Employee::getId).containsExactly(1L);
+  }
+
+  // JUnit test for search method ranking
+  @DisplayName("JUnit test for search method ranking")
+  @Test
+  void givenExactName_whenSearch_thenExactMatchRanksFirst() {
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("mihailescu", 10);
+
+    // then - verify the output
+    assertThat(employees).isNotEmpty();
+    assertThat(employees.get(0).getId()).isEqualTo(3L);
+    assertThat(employees.get(0).getLastName()).isEqualTo("Mihailescu");
+  }
+
+  // JUnit test for search method with a limit
+  @DisplayName("JUnit test for search method with a limit")
+  @Test
+  void givenLimit_whenSearch_thenReturnAtMostLimitEmployees() {
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("m", 2);
+
+    // then - verify the output
+    assertThat(employees).hasSize(2);
+  }
+
+  // JUnit test for patch method
+  @DisplayName("JUnit test for patch method")
+  @Test
+  void givenPatchedLastName_whenSearch_thenMatchOnlyTheNewName() {
+    // given - precondition or setup
+    employeeSearchIndex.patch(4L, null, "Ionescu", "aionescu@mail.com");
+
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("ionescu", 10);
+
+    // then - verify the output
+    assertThat(employees.get(0).getId()).isEqualTo(4L);
+    assertThat(employees.get(0).getFirstName()).isEqualTo("Ana");
+    assertThat(employeeSearchIndex.search("rusu", 10)).isEmpty();
+  }
+
+  // JUnit test for remove method
+  @DisplayName("JUnit test for remove method")
+  @Test
+  void givenRemovedEmployee_whenSearch_thenEmployeeIsNotReturned() {
+    // given - precondition or setup
+    employeeSearchIndex.remove(1L);
+
+    // when - action or the behaviour that we are going test
+    List<Employee> employees = employeeSearchIndex.search("mihail", 10);
+
+    // then - verify the output
+    assertThat(employees).extracting(Employee::getId).doesNotContain(1L);
+    assertThat(employeeSearchIndex.size()).isEqualTo(3);
+  }
+
+  // JUnit test for remove method once removed employees are swept from the postings
+  @DisplayName("JUnit test for remove method once removed employees are swept from the postings")
+  @Test
+  void givenManyReplacedEmployees_whenSearch_thenOnlyCurrentNamesMatch() {
+    // given - precondition or setup
+    for (long id = 100; id < 3100; id++) {
+      employeeSearchIndex.put(id, "Temp" + id, "Worker", "temp" + id + "@mail.com");
+    }
+    for (long id = 100; id < 3100; id++) {
+      employeeSearchIndex.put(id, "Elena", "Ciobanu" + id, "eciobanu" + id + "@mail.com");
+    }
+
+    // when - action or the behaviour that we are going test
+    List<Employee> workers = employeeSearchIndex.search("worker", 10);
+    List<Employee> employees = employeeSearchIndex.search("ciobanu3099", 10);
+
+    // then - verify the output
+    assertThat(workers).isEmpty();
+    assertThat(employees).extracting(Employee::getId).first().isEqualTo(3099L);
+    assertThat(employeeSearchIndex.size()).isEqualTo(3004);
+  }
+
+  // JUnit test for reload method
+  @DisplayName("JUnit test for reload method")
+  @Test
+  void givenEmployeesInDatabase_whenReload_thenIndexContainsOnlyThem() {
+    // given - precondition or setup
+    given(employeeRepository.streamAllSearchEntries()).willReturn(Stream.of(
+        new EmployeeSearchEntry(10L, "Elena", "Ciobanu", "eciobanu@mail.com"),
+        new EmployeeSearchEntry(11L, "Victor", "Ciobanu", "vciobanu@mail.com")));
+
+    // when - action or the behaviour that we are going test
+    employeeSearchIndex.reload();
+
+    // then - verify the output
+    assertThat(employeeSearchIndex.size()).isEqualTo(2);
+    assertThat(employeeSearchIndex.search("mihail", 10)).isEmpty();
+    assertThat(employeeSearchIndex.search("ciobanu", 10)).extracting(Employee::getId).containsExactly(10L, 11L);
+  }
+}
@@ -0,0 +1,137 @@
+package net.tutorial.springboottesting.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeIngestStatus;
+import net.tutorial.springboottesting.dto.EmployeeIngestStatus.State;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteBehindQueueTests {
+
+  @Mock
+  private EmployeeService employeeService;
+
+  private EmployeeWriteBehindQueue writeBehindQueue;
+
+  @BeforeEach
+  void setup() {
+    writeBehindQueue = new EmployeeWriteBehindQueue(employeeService, 2, 10, Duration.ofMinutes(1));
+  }
+
+  // JUnit test for submit method on a full queue
+  @DisplayName("JUnit test for submit method on a full queue")
+  @Test
+  void givenFullQueue_whenSubmit_thenReturnEmpty() {
+    // given - precondition or setup
+    writeBehindQueue.submit(employee(1));
+    writeBehindQueue.submit(employee(2));
+
+    // when - action or the behaviour that we are going test
+    Optional<String> trackingId = writeBehindQueue.submit(employee(3));
+
+    // then - verify the output
+    assertThat(trackingId).isEmpty();
+    assertThat(writeBehindQueue.queued()).isEqualTo(2);
+  }
+
+  // JUnit test for flush method
+  @DisplayName("JUnit test for flush method")
+  @Test
+  void givenQueuedEmployees_whenFlush_thenSavedInOneBatchAndStatusesUpdated() {
+    // given - precondition or setup
+    String created = writeBehindQueue.submit(employee(1)).orElseThrow();
+    String duplicate = writeBehindQueue.submit(employee(2)).orElseThrow();
+    given(employeeService.saveEmployees(anyList())).willReturn(List.of(
+        EmployeeBatchResult.created(0, 41L),
+        EmployeeBatchResult.duplicate(1, "employee2@mail.com")));
+    assertThat(writeBehindQueue.status(created)).map(EmployeeIngestStatus::state).contains(State.QUEUED);
+
+    // when - action or the behaviour that we are going test
+    writeBehindQueue.flush();
+
+    // then - verify the output
+    verify(employeeService, times(1)).saveEmployees(anyList());
+    assertThat(writeBehindQueue.status(created)).contains(new EmployeeIngestStatus(created, State.CREATED, 41L, null));
+    assertThat(writeBehindQueue.status(duplicate)).map(EmployeeIngestStatus::state).contains(State.DUPLICATE);
+    assertThat(writeBehindQueue.queued()).isZero();
+  }
+
+  // JUnit test for flush method when the batch cannot be saved
+  @DisplayName("JUnit test for flush method when the batch cannot be saved")
+  @Test
+  void givenFailingSave_whenFlush_thenStatusIsFailed() {
+    // given - precondition or setup
+    String trackingId = writeBehindQueue.submit(employee(1)).orElseThrow();
+    given(employeeService.saveEmployees(anyList())).willThrow(new IllegalStateException("database down"));
+
+    // when - action or the behaviour that we are going test
+    writeBehindQueue.flush();
+
+    // then - verify the output
+    assertThat(writeBehindQueue.status(trackingId)).contains(
+        EmployeeIngestStatus.failed(trackingId, "database down"));
+  }
+
+  // JUnit test for flush method when one employee fails the whole batch
+  @DisplayName("JUnit test for flush method when one employee fails the whole batch")
+  @Test
+  void givenOneFailingEmployee_whenFlush_thenOthersAreSavedOneByOne() {
+    // given - precondition or setup
+    Employee valid = employee(1);
+    Employee invalid = employee(2);
+    String first = writeBehindQueue.submit(valid).orElseThrow();
+    String failing = writeBehindQueue.submit(invalid).orElseThrow();
+    given(employeeService.saveEmployees(List.of(valid, invalid)))
+        .willThrow(new IllegalStateException("value too long"));
+    given(employeeService.saveEmployees(List.of(valid))).willReturn(List.of(EmployeeBatchResult.created(0, 41L)));
+    given(employeeService.saveEmployees(List.of(invalid))).willThrow(new IllegalStateException("value too long"));
+
+    // when - action or the behaviour that we are going test
+    writeBehindQueue.flush();
+
+    // then - verify the output
+    verify(employeeService, times(3)).saveEmployees(anyList());
+    assertThat(writeBehindQueue.status(first)).contains(new EmployeeIngestStatus(first, State.CREATED, 41L, null));
+    assertThat(writeBehindQueue.status(failing)).contains(EmployeeIngestStatus.failed(failing, "value too long"));
+  }
+
+  // JUnit test for the writer thread
+  @DisplayName("JUnit test for the writer thread")
+  @Test
+  void givenStartedWriter_whenSubmit_thenEmployeeIsSaved() throws InterruptedException {
+    // given - precondition or setup
+    given(employeeService.saveEmployees(anyList())).willReturn(List.of(EmployeeBatchResult.created(0, 7L)));
+    writeBehindQueue.start();
+
+    // when - action or the behaviour that we are going test
+    String trackingId = writeBehindQueue.submit(employee(1)).orElseThrow();
+    for (int i = 0; i < 100 && writeBehindQueue.status(trackingId).orElseThrow().state() == State.QUEUED; i++) {
+      Thread.sleep(20);
+    }
+    writeBehindQueue.stop();
+
+    // then - verify the output
+    assertThat(writeBehindQueue.status(trackingId)).map(EmployeeIngestStatus::id).contains(7L);
+    assertThat(writeBehindQueue.isRunning()).isFalse();
+  }
+
+  private static Employee employee(int i) {
+    return Employee.builder().firstName("First" + i).lastName("Last" + i).email("employee" + i + "@mail.com").build();
+  }
+}
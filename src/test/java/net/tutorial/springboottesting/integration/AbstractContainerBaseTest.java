@@ -1,26 +1,82 @@
 package net.tutorial.springboottesting.integration;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestExecutionListeners.MergeMode;
+import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
 
+// Database of the integration tests. One MySQL container per JVM, left running after the run when container
+// reuse is enabled (testcontainers.reuse.enable=true in ~/.testcontainers.properties or
+// TESTCONTAINERS_REUSE_ENABLE=true), so later runs neither start MySQL nor migrate the schema again.
+// Without Docker the tests run against an in-memory H2 database in MySQL mode.
+// Every subclass gets the same properties, integration classes with the same test annotations therefore share
+// one cached application context; CleanTablesTestExecutionListener empties the tables before each test.
+// Surefire runs the test classes in a single fork unless the parallel-forks profile starts one per core (forkCount
+// in the pom, test.worker is the fork number), the forks share the reused container and each of them works in a
+// database of its own, test_container_db_<worker>. In-memory databases, the H2 fallback and the embedded database of @DataJpaTest
+// classes like EmployeeRepositoryTests, belong to the fork JVM already.
+@TestExecutionListeners(listeners = CleanTablesTestExecutionListener.class,
+    mergeMode = MergeMode.MERGE_WITH_DEFAULTS)
 public abstract class AbstractContainerBaseTest {
-  static final MySQLContainer MY_SQL_CONTAINER;
+
+  static final MySQLContainer<?> MY_SQL_CONTAINER;
+  private static final String WORKER = System.getProperty("test.worker");
+  private static final String DATABASE_NAME = "test_container_db";
 
   static {
-    MY_SQL_CONTAINER = new MySQLContainer()
-        .withUsername("testContainerUsername")
-        .withPassword("testContainerPassword")
-        .withDatabaseName("test_container_db");
+    if (DockerClientFactory.instance().isDockerAvailable()) {
+      MY_SQL_CONTAINER = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+          .withUsername("testContainerUsername")
+          .withPassword("testContainerPassword")
+          .withDatabaseName(DATABASE_NAME)
+          .withReuse(true);
 
-    MY_SQL_CONTAINER.start();
+      MY_SQL_CONTAINER.start();
+      if (WORKER != null) {
+        createWorkerDatabase();
+      }
+    } else {
+      MY_SQL_CONTAINER = null;
+    }
   }
 
   @DynamicPropertySource
   public static void dynamicPropertySource(DynamicPropertyRegistry registry) {
-    registry.add("spring.datasource.url", MY_SQL_CONTAINER::getJdbcUrl);
-    registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
-    registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
+    if (MY_SQL_CONTAINER != null) {
+      registry.add("spring.datasource.url",
+          () -> MY_SQL_CONTAINER.getJdbcUrl().replace("/" + DATABASE_NAME, "/" + workerDatabaseName()));
+      registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
+      registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
+    } else {
+      registry.add("spring.datasource.url", () -> "jdbc:h2:mem:integration;MODE=MySQL;DB_CLOSE_DELAY=-1");
+      registry.add("spring.datasource.username", () -> "sa");
+      registry.add("spring.datasource.password", () -> "");
+    }
+  }
+
+  private static String workerDatabaseName() {
+    return WORKER == null ? DATABASE_NAME : DATABASE_NAME + "_" + WORKER;
+  }
+
+  // kept in the reused container like the default database, Flyway finds it migrated on the next run
+  private static void createWorkerDatabase() {
+    // the container sets the root password to the one of the test user
+    try (Connection connection = DriverManager.getConnection(MY_SQL_CONTAINER.getJdbcUrl(), "root",
+        MY_SQL_CONTAINER.getPassword());
+        Statement statement = connection.createStatement()) {
+      statement.execute("create database if not exists " + workerDatabaseName());
+      statement.execute("grant all privileges on " + workerDatabaseName() + ".* to '"
+          + MY_SQL_CONTAINER.getUsername() + "'@'%'");
+    } catch (SQLException e) {
+      throw new IllegalStateException("cannot create the database of test worker " + WORKER, e);
+    }
   }
 
 }
@@ -0,0 +1,42 @@
+package net.tutorial.springboottesting.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Objects;
+import javax.sql.DataSource;
+import net.tutorial.springboottesting.index.EmployeeEmailIndex;
+import net.tutorial.springboottesting.index.EmployeeSearchIndex;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+// Empties the tables before every test with one DELETE per table, where deleteAll() loads every row and
+// deletes them one by one, then drops what the application keeps about the removed rows: the Hibernate
+// second-level cache, the Spring caches and the in-memory indexes. Not TRUNCATE, it restarts the ids and the
+// tests expect them to keep growing.
+// Runs and commits before the test transaction of transactional tests such as @DataJpaTest.
+class CleanTablesTestExecutionListener extends AbstractTestExecutionListener {
+
+  private static final List<String> TABLES = List.of("employees");
+
+  @Override
+  public int getOrder() {
+    return new TransactionalTestExecutionListener().getOrder() - 100;
+  }
+
+  @Override
+  public void beforeTestMethod(TestContext testContext) {
+    ApplicationContext context = testContext.getApplicationContext();
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+    TABLES.forEach(table -> jdbcTemplate.execute("delete from " + table));
+    context.getBeanProvider(EntityManagerFactory.class)
+        .ifAvailable(entityManagerFactory -> entityManagerFactory.getCache().evictAll());
+    context.getBeanProvider(CacheManager.class).ifAvailable(cacheManager -> cacheManager.getCacheNames()
+        .forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear()));
+    context.getBeanProvider(EmployeeEmailIndex.class).ifAvailable(EmployeeEmailIndex::reload);
+    context.getBeanProvider(EmployeeSearchIndex.class).ifAvailable(EmployeeSearchIndex::reload);
+  }
+}
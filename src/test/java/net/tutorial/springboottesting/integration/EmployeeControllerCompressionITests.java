@@ -0,0 +1,91 @@
+package net.tutorial.springboottesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+// response compression is done by the embedded Tomcat, so it is only visible through a real connection
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:compression;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+class EmployeeControllerCompressionITests {
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAllInBatch();
+    employeeRepository.insertAll(IntStream.range(0, 100)
+        .mapToObj(i -> Employee.builder()
+            .firstName("Mihail" + i)
+            .lastName("Cepraga" + i)
+            .email("mcepraga" + i + "@mail.com")
+            .build())
+        .toList());
+  }
+
+  // Integration test for getAllEmployees REST API with gzip accepted
+  @DisplayName("Integration test for getAllEmployees REST API with gzip accepted")
+  @Test
+  void givenGzipAccepted_whenGetAllEmployees_thenJsonIsCompressed() throws Exception {
+    // when - action or the behaviour that we are going test
+    HttpResponse<InputStream> response = getEmployees(MediaType.APPLICATION_JSON_VALUE);
+
+    // then - verify the output
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+    try (InputStream body = new GZIPInputStream(response.body())) {
+      assertThat(objectMapper.readValue(body, List.class)).hasSize(100);
+    }
+  }
+
+  // Integration test for getAllEmployees REST API in a binary format with gzip accepted
+  @DisplayName("Integration test for getAllEmployees REST API in a binary format with gzip accepted")
+  @Test
+  void givenGzipAccepted_whenGetAllEmployeesAsSmile_thenBodyIsNotCompressed() throws Exception {
+    // when - action or the behaviour that we are going test
+    HttpResponse<InputStream> response = getEmployees("application/x-jackson-smile");
+
+    // then - verify the output
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    response.body().close();
+  }
+
+  private HttpResponse<InputStream> getEmployees(String accept) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+        .header(HttpHeaders.ACCEPT, accept)
+        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+        .build();
+    return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+  }
+}
@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.List;
 import net.tutorial.springboottesting.model.Employee;
 import net.tutorial.springboottesting.repository.EmployeeRepository;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,7 +26,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
-class EmployeeControllerITests {
+class EmployeeControllerITests extends AbstractContainerBaseTest {
 
   @Autowired
   private MockMvc mockMvc;
@@ -36,11 +35,6 @@ class EmployeeControllerITests {
   @Autowired
   private ObjectMapper objectMapper;
 
-  @BeforeEach
-  void setup() {
-    employeeRepository.deleteAll();
-  }
-
   // Integration test for createEmployee end point
   @DisplayName("Integration test for createEmployee end point")
   @Test
@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.List;
 import net.tutorial.springboottesting.model.Employee;
 import net.tutorial.springboottesting.repository.EmployeeRepository;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,11 +35,6 @@ class EmployeeControllerITestsContainer extends AbstractContainerBaseTest {
   @Autowired
   private ObjectMapper objectMapper;
 
-  @BeforeEach
-  void setup() {
-    employeeRepository.deleteAll();
-  }
-
   // Test container test for createEmployee end point
   @DisplayName("Test container test for createEmployee end point")
   @Test
@@ -0,0 +1,114 @@
+package net.tutorial.springboottesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import net.tutorial.springboottesting.config.CacheConfig;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// two embedded databases stand in for the primary and its replica, with no replication between them,
+// so every row shows which database served the call
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "employee.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=create table if not exists employees "
+        + "(id bigint auto_increment primary key, first_name varchar(255) not null, last_name varchar(255) not null, "
+        + "email varchar(255), version bigint not null, deleted_at timestamp(6))",
+    "employee.datasource.replica.username=sa",
+    "employee.datasource.replica.password="
+})
+class EmployeeServiceReadReplicaITests {
+
+  @Autowired
+  private EmployeeService employeeService;
+  @Autowired
+  private CacheManager cacheManager;
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primaryDataSource;
+  @Autowired
+  @Qualifier("replicaDataSource")
+  private DataSource replicaDataSource;
+
+  @BeforeEach
+  void setup() {
+    cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+    new JdbcTemplate(primaryDataSource).update("delete from employees");
+    new JdbcTemplate(replicaDataSource).update("delete from employees");
+  }
+
+  // Integration test for writes going to the primary
+  @DisplayName("Integration test for writes going to the primary")
+  @Test
+  void givenEmployeeObject_whenSaveEmployee_thenRowIsOnlyOnPrimary() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+
+    // when - action or behaviour that we are going test
+    employeeService.saveEmployee(employee);
+
+    // then - verify the result or output using assert statements
+    assertThat(countEmployees(primaryDataSource)).isEqualTo(1);
+    assertThat(countEmployees(replicaDataSource)).isZero();
+  }
+
+  // Integration test for read-only transactions going to the replica
+  @DisplayName("Integration test for read-only transactions going to the replica")
+  @Test
+  void givenRowOnReplica_whenGetAllEmployees_thenReadFromReplica() {
+    // given - precondition or setup
+    employeeService.saveEmployee(Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build());
+    new JdbcTemplate(replicaDataSource).update(
+        "insert into employees (first_name, last_name, email, version) values ('Replica', 'Row', 'replica@mail.com', 0)");
+
+    // when - action or behaviour that we are going test
+    List<Employee> employees = employeeService.getAllEmployees();
+
+    // then - verify the result or output using assert statements
+    assertThat(employees).extracting(Employee::getFirstName).containsExactly("Replica");
+  }
+
+  // Integration test for cache-filling lookups staying on the primary
+  @DisplayName("Integration test for cache-filling lookups staying on the primary")
+  @Test
+  void givenRowOnlyOnPrimary_whenGetEmployeeById_thenReadFromPrimary() {
+    // given - precondition or setup, a row written behind the caches the replica has not caught up with
+    new JdbcTemplate(primaryDataSource).update(
+        "insert into employees (first_name, last_name, email, version) values ('Primary', 'Row', 'primary@mail.com', 0)");
+    long employeeId = new JdbcTemplate(primaryDataSource).queryForObject("select id from employees", Long.class);
+
+    // when - action or behaviour that we are going test
+    Optional<Employee> found = employeeService.getEmployeeById(employeeId);
+    cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+    List<Employee> lookedUp = employeeService.getEmployeesByIds(List.of(employeeId)).employees();
+
+    // then - verify the result or output using assert statements
+    assertThat(found).map(Employee::getFirstName).contains("Primary");
+    assertThat(lookedUp).extracting(Employee::getFirstName).containsExactly("Primary");
+  }
+
+  private static int countEmployees(DataSource dataSource) {
+    return new JdbcTemplate(dataSource).queryForObject("select count(*) from employees", Integer.class);
+  }
+}
@@ -0,0 +1,412 @@
+package net.tutorial.springboottesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
+
+// the EmployeeControllerITests contract, run against the reactive profile on an embedded database
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.r2dbc.url=r2dbc:h2:mem:///reactive-employees;DB_CLOSE_DELAY=-1",
+    "spring.r2dbc.username=sa",
+    "spring.r2dbc.password=",
+    "spring.sql.init.mode=always"
+})
+@ActiveProfiles("reactive")
+class ReactiveEmployeeControllerITests {
+
+  @Autowired
+  private WebTestClient webTestClient;
+  @Autowired
+  private ReactiveEmployeeRepository employeeRepository;
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll().block();
+  }
+
+  // Integration test for createEmployee end point
+  @DisplayName("Integration test for createEmployee end point")
+  @Test
+  void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+
+    // when - action or behaviour that we are going test
+    ResponseSpec response = webTestClient.post().uri("/api/employees")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(employee)
+        .exchange();
+
+    // then - verify the result or output using assert statements
+    response.expectStatus().isCreated()
+        .expectBody()
+        .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+        .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+        .jsonPath("$.email").isEqualTo(employee.getEmail());
+  }
+
+  // Integration test for getAllEmployees end point
+  @DisplayName("Integration test for getAllEmployees end point")
+  @Test
+  void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() {
+    // given - precondition or setup
+    List<Employee> listOfEmployees = new ArrayList<>();
+    listOfEmployees.add(Employee.builder().firstName("Mihail0")
+        .lastName("Cepraga0").email("mcepraga0@mail.com").build());
+    listOfEmployees.add(Employee.builder().firstName("Mihail1")
+        .lastName("Cepraga1").email("mcepraga1@mail.com").build());
+    employeeRepository.saveAll(listOfEmployees).blockLast();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.get().uri("/api/employees").exchange();
+
+    // then - verify the output
+    response.expectStatus().isOk()
+        .expectHeader().valueEquals("Deprecation", "true")
+        .expectBody()
+        .jsonPath("$.size()").isEqualTo(listOfEmployees.size());
+  }
+
+  // Integration test for getAllEmployees end point with a selection it does not serve
+  @DisplayName("Integration test for getAllEmployees end point with a selection it does not serve")
+  @Test
+  void givenUnservedSelection_whenGetAllEmployees_thenReturnBadRequest() {
+    // given - precondition or setup
+    employeeRepository.save(Employee.builder().firstName("Mihail")
+        .lastName("Cepraga").email("mcepraga@mail.com").build()).block();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec idsResponse = webTestClient.get().uri("/api/employees?ids=1,2").exchange();
+    ResponseSpec firstNameResponse = webTestClient.get().uri("/api/employees?firstName=Mihail").exchange();
+    ResponseSpec combinedResponse = webTestClient.get()
+        .uri("/api/employees?firstName=Mihail&lastName=Cepraga&ids=1").exchange();
+
+    // then - verify the output
+    idsResponse.expectStatus().isBadRequest();
+    firstNameResponse.expectStatus().isBadRequest();
+    combinedResponse.expectStatus().isBadRequest();
+  }
+
+  // Integration test for getEmployeeFields end point
+  @DisplayName("Integration test for getEmployeeFields end point")
+  @Test
+  void givenListOfEmployees_whenGetEmployeeFields_thenReturnOnlyRequestedFields() {
+    // given - precondition or setup
+    List<Employee> listOfEmployees = new ArrayList<>();
+    listOfEmployees.add(Employee.builder().firstName("Mihail0")
+        .lastName("Cepraga0").email("mcepraga0@mail.com").build());
+    listOfEmployees.add(Employee.builder().firstName("Mihail1")
+        .lastName("Cepraga1").email("mcepraga1@mail.com").build());
+    employeeRepository.saveAll(listOfEmployees).blockLast();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.get().uri("/api/employees?fields=id,email&limit=1").exchange();
+    ResponseSpec unknownFieldResponse = webTestClient.get().uri("/api/employees?fields=id,salary").exchange();
+
+    // then - verify the output
+    response.expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.size()").isEqualTo(1)
+        .jsonPath("$[0].id").isEqualTo(listOfEmployees.get(0).getId())
+        .jsonPath("$[0].email").isEqualTo(listOfEmployees.get(0).getEmail())
+        .jsonPath("$[0].firstName").doesNotExist()
+        .jsonPath("$[0].lastName").doesNotExist();
+    unknownFieldResponse.expectStatus().isBadRequest();
+  }
+
+  // Integration test for streaming employees as NDJSON
+  @DisplayName("Integration test for streaming employees as NDJSON")
+  @Test
+  void givenListOfEmployees_whenStreamEmployees_thenReturnOneEmployeePerLine() {
+    // given - precondition or setup
+    List<Employee> listOfEmployees = new ArrayList<>();
+    listOfEmployees.add(Employee.builder().firstName("Mihail0")
+        .lastName("Cepraga0").email("mcepraga0@mail.com").build());
+    listOfEmployees.add(Employee.builder().firstName("Mihail1")
+        .lastName("Cepraga1").email("mcepraga1@mail.com").build());
+    employeeRepository.saveAll(listOfEmployees).blockLast();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.get().uri("/api/employees/stream")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange();
+
+    // then - verify the output
+    response.expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBodyList(Employee.class).hasSize(listOfEmployees.size());
+  }
+
+  // positive scenario - void employee id
+  // Integration test for GET employee by id REST API
+  @DisplayName("Integration test for GET employee by id REST API positive scenario")
+  @Test
+  void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employee.getId()).exchange();
+
+    // then - verify the output
+    response.expectStatus().isOk()
+        .expectHeader().valueEquals("ETag", "\"0\"")
+        .expectBody()
+        .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+        .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+        .jsonPath("$.email").isEqualTo(employee.getEmail());
+  }
+
+  // negative scenario - void employee id
+  // Integration test for GET employee by id REST API
+  @DisplayName("Integration test for GET employee by id REST API negative scenario")
+  @Test
+  void givenEmployeeId_whenGetEmployeeId_thenReturnEmptyEmployeeObject() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+    long employeeId = employee.getId() + 1;
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employeeId).exchange();
+
+    // then - verify the output
+    response.expectStatus().isNotFound();
+  }
+
+  // Integration test for update employee REST API - positive scenario
+  @DisplayName("Integration test for update employee REST API - positive scenario")
+  @Test
+  void givenUpdatedEmployee_whenUpdateEmployee_thenReturnEmployeeObject() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+
+    Employee updatedEmployee = Employee.builder()
+        .firstName("Mihail1")
+        .lastName("Cepraga1")
+        .email("mcepraga1@mail.com")
+        .build();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", employee.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(updatedEmployee)
+        .exchange();
+
+    // then - verify the output
+    response.expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+        .jsonPath("$.lastName").isEqualTo(updatedEmployee.getLastName())
+        .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+  }
+
+  // Integration test for update employee REST API - negative scenario
+  @DisplayName("Integration test for update employee REST API - negative scenario")
+  @Test
+  void givenUpdatedEmployee_whenUpdateEmployee_thenReturnNOT_FOUND() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+    long employeeId = employee.getId() + 1;
+    Employee updatedEmployee = Employee.builder()
+        .firstName("Mihail1")
+        .lastName("Cepraga1")
+        .email("mcepraga1@mail.com")
+        .build();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", employeeId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(updatedEmployee)
+        .exchange();
+
+    // then - verify the output
+    response.expectStatus().isNotFound();
+  }
+
+  // Integration test for conditional update employee REST API with a stale version
+  @DisplayName("Integration test for conditional update employee REST API with a stale version")
+  @Test
+  void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+    Employee updatedEmployee = Employee.builder()
+        .firstName("Mihail1")
+        .lastName("Cepraga1")
+        .email("mcepraga1@mail.com")
+        .build();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", employee.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.IF_MATCH, "\"5\"")
+        .bodyValue(updatedEmployee)
+        .exchange();
+
+    // then - verify the output
+    response.expectStatus().isEqualTo(412);
+  }
+
+  // Integration test for conditional patch employee REST API with an empty body
+  @DisplayName("Integration test for conditional patch employee REST API with an empty body")
+  @Test
+  void givenEmptyBodyAndIfMatch_whenPatchEmployee_thenETagStillMatches() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+
+    // when - action or the behaviour that we are going test
+    String eTag = webTestClient.patch().uri("/api/employees/{id}", employee.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .bodyValue("{}")
+        .exchange()
+        .expectStatus().isNoContent()
+        .returnResult(Void.class)
+        .getResponseHeaders()
+        .getETag();
+    ResponseSpec response = webTestClient.patch().uri("/api/employees/{id}", employee.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.IF_MATCH, eTag)
+        .bodyValue("{\"firstName\":\"Mihail1\"}")
+        .exchange();
+
+    // then - verify the output
+    assertThat(eTag).isEqualTo("\"0\"");
+    response.expectStatus().isNoContent()
+        .expectHeader().valueEquals("ETag", "\"1\"");
+  }
+
+  // Integration test for unconditional patch employee REST API
+  @DisplayName("Integration test for unconditional patch employee REST API")
+  @Test
+  void givenPartialEmployee_whenPatchEmployee_thenReturnStoredVersionAsETag() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.patch().uri("/api/employees/{id}", employee.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"lastName\":\"Cepraga1\"}")
+        .exchange();
+
+    // then - verify the output
+    response.expectStatus().isNoContent()
+        .expectHeader().valueEquals("ETag", "\"1\"");
+  }
+
+  // Integration test for delete employee REST API
+  @DisplayName("Integration test for delete employee REST API")
+  @Test
+  void givenEmployeeId_whenDeleteEmployee_thenReturnOK() {
+    // given - precondition or setup
+    Employee employee = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build();
+    employeeRepository.save(employee).block();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", employee.getId()).exchange();
+
+    // then - verify the output
+    response.expectStatus().isOk();
+  }
+
+  // Integration test for delete employee REST API with a missing id
+  @DisplayName("Integration test for delete employee REST API with a missing id")
+  @Test
+  void givenMissingEmployeeId_whenDeleteEmployee_thenReturnNotFound() {
+    // given - precondition or setup
+    long employeeId = 1L;
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", employeeId).exchange();
+
+    // then - verify the output
+    response.expectStatus().isNotFound();
+  }
+
+  // Integration test for the employee REST API on a row soft deleted by the servlet API
+  @DisplayName("Integration test for the employee REST API on a row soft deleted by the servlet API")
+  @Test
+  void givenSoftDeletedEmployee_whenGetOrDeleteEmployee_thenItIsNotFound() {
+    // given - precondition or setup
+    Employee employee = employeeRepository.save(Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build()).block();
+    databaseClient.sql("update employees set deleted_at = current_timestamp where id = :id")
+        .bind("id", employee.getId())
+        .then()
+        .block();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec getResponse = webTestClient.get().uri("/api/employees/{id}", employee.getId()).exchange();
+    ResponseSpec listResponse = webTestClient.get().uri("/api/employees").exchange();
+    ResponseSpec deleteResponse = webTestClient.delete().uri("/api/employees/{id}", employee.getId()).exchange();
+
+    // then - verify the output
+    getResponse.expectStatus().isNotFound();
+    listResponse.expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.size()").isEqualTo(0);
+    deleteResponse.expectStatus().isNotFound();
+  }
+}
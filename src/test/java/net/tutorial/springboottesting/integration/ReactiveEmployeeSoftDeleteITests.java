@@ -0,0 +1,99 @@
+package net.tutorial.springboottesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.purge.ReactiveEmployeeTombstonePurger;
+import net.tutorial.springboottesting.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
+
+// employee.delete.mode=soft on the reactive profile, the tombstones behave like those of the servlet API
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.r2dbc.url=r2dbc:h2:mem:///reactive-soft-delete;DB_CLOSE_DELAY=-1",
+    "spring.r2dbc.username=sa",
+    "spring.r2dbc.password=",
+    "spring.sql.init.mode=always",
+    "employee.delete.mode=soft",
+    "employee.delete.purge-interval=PT1H"
+})
+@ActiveProfiles("reactive")
+class ReactiveEmployeeSoftDeleteITests {
+
+  @Autowired
+  private WebTestClient webTestClient;
+  @Autowired
+  private ReactiveEmployeeRepository employeeRepository;
+  @Autowired
+  private ReactiveEmployeeTombstonePurger purger;
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll().block();
+  }
+
+  // Integration test for soft delete employee REST API releasing the email
+  @DisplayName("Integration test for soft delete employee REST API releasing the email")
+  @Test
+  void givenSoftDeletedEmployee_whenCreateEmployeeWithSameEmail_thenReturnCreated() {
+    // given - precondition or setup
+    Employee employee = employeeRepository.save(Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build()).block();
+    webTestClient.delete().uri("/api/employees/{id}", employee.getId()).exchange()
+        .expectStatus().isOk();
+
+    // when - action or the behaviour that we are going test
+    ResponseSpec response = webTestClient.post().uri("/api/employees")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("mcepraga@mail.com").build())
+        .exchange();
+
+    // then - verify the output
+    response.expectStatus().isCreated();
+    Map<String, Object> tombstone = databaseClient.sql("select email, deleted_at from employees where id = :id")
+        .bind("id", employee.getId())
+        .fetch()
+        .one()
+        .block();
+    assertThat(tombstone).containsEntry("EMAIL", null);
+    assertThat(tombstone.get("DELETED_AT")).isNotNull();
+    webTestClient.get().uri("/api/employees/{id}", employee.getId()).exchange()
+        .expectStatus().isNotFound();
+  }
+
+  // Integration test for purging the tombstones of the reactive API
+  @DisplayName("Integration test for purging the tombstones of the reactive API")
+  @Test
+  void givenSoftDeletedEmployee_whenPurge_thenRowIsRemoved() {
+    // given - precondition or setup
+    Employee employee = employeeRepository.save(Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mcepraga@mail.com")
+        .build()).block();
+    webTestClient.delete().uri("/api/employees/{id}", employee.getId()).exchange()
+        .expectStatus().isOk();
+
+    // when - action or the behaviour that we are going test
+    Integer purgedRows = purger.purge().block();
+
+    // then - verify the output
+    assertThat(purgedRows).isEqualTo(1);
+    assertThat(employeeRepository.count().block()).isZero();
+  }
+}
@@ -0,0 +1,67 @@
+package net.tutorial.springboottesting.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RequestStatisticsFilterTests {
+
+  private HibernateRequestStatistics statistics;
+  private SimpleMeterRegistry meterRegistry;
+  private RequestStatisticsFilter filter;
+
+  @BeforeEach
+  void setup() {
+    statistics = new HibernateRequestStatistics();
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new RequestStatisticsFilter(statistics, meterRegistry);
+  }
+
+  // JUnit test for recording the Hibernate statements and entity loads of a request
+  @DisplayName("JUnit test for recording the Hibernate statements and entity loads of a request")
+  @Test
+  void givenRequestRunningQueries_whenDoFilter_thenRecordCountsPerRequest() throws Exception {
+    // given - precondition or setup
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+
+    // when - action or the behaviour that we are going test
+    filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+      statistics.inspect("select * from employees where id = ?");
+      statistics.onLoad(new Object(), (Object) 1L, null, null, null);
+      statistics.inspect("select * from employees where id = ?");
+    });
+
+    // then - verify the output
+    DistributionSummary statements = meterRegistry.get("employee.request.statements")
+        .tag("method", "GET").tag("uri", "/api/employees/{id}").summary();
+    DistributionSummary entityLoads = meterRegistry.get("employee.request.entity.loads")
+        .tag("uri", "/api/employees/{id}").summary();
+    assertThat(statements.count()).isEqualTo(1);
+    assertThat(statements.totalAmount()).isEqualTo(2);
+    assertThat(entityLoads.totalAmount()).isEqualTo(1);
+  }
+
+  // JUnit test for statements outside of a request not being counted
+  @DisplayName("JUnit test for statements outside of a request not being counted")
+  @Test
+  void givenNoRequestInProgress_whenInspect_thenNothingIsCounted() {
+    // given - precondition or setup
+    statistics.inspect("select * from employees");
+
+    // when - action or the behaviour that we are going test
+    statistics.begin();
+    HibernateRequestStatistics.Counts counts = statistics.end();
+
+    // then - verify the output
+    assertThat(counts.statements()).isZero();
+    assertThat(counts.entityLoads()).isZero();
+  }
+}
@@ -0,0 +1,147 @@
+package net.tutorial.springboottesting.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+class BatchedBackfillMigrationTests {
+
+  private DataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  // named like the migrations in db.migration, Flyway takes the version from the class name
+  static class V2__Lowercase_emails extends BatchedBackfillMigration {
+
+    @Override
+    protected String assignments() {
+      return "email = lower(email)";
+    }
+
+    @Override
+    protected String pendingRows() {
+      return "email <> lower(email)";
+    }
+  }
+
+  @BeforeEach
+  void setup() {
+    dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+        "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    flyway().target(MigrationVersion.fromVersion("1")).load().migrate();
+  }
+
+  // JUnit test for a batched backfill run by Flyway
+  @DisplayName("JUnit test for a batched backfill run by Flyway")
+  @Test
+  void givenRowsSpanningSeveralBatches_whenMigrate_thenEveryRowIsMigrated() {
+    // given - precondition or setup
+    insertEmployees(2500, 0);
+
+    // when - action or the behaviour that we are going test
+    flyway().javaMigrations(new V2__Lowercase_emails())
+        .placeholders(Map.of(BatchedBackfillMigration.BATCH_SIZE_PLACEHOLDER, "1000"))
+        .load()
+        .migrate();
+
+    // then - verify the output
+    assertThat(pendingRows()).isZero();
+    assertThat(jdbcTemplate.queryForObject("select count(*) from employees", Long.class)).isEqualTo(2500);
+    assertThat(flyway().load().info().current().getVersion()).isEqualTo(MigrationVersion.fromVersion("2"));
+  }
+
+  // JUnit test for a batched backfill resumed after a partial run
+  @DisplayName("JUnit test for a batched backfill resumed after a partial run")
+  @Test
+  void givenPartiallyMigratedRows_whenBackfill_thenOnlyPendingRowsAreUpdated() throws SQLException {
+    // given - precondition or setup
+    insertEmployees(250, 100);
+
+    // when - action or the behaviour that we are going test
+    long updatedRows;
+    long updatedRowsOnRerun;
+    try (Connection connection = dataSource.getConnection()) {
+      updatedRows = new V2__Lowercase_emails().backfill(connection, 100);
+      updatedRowsOnRerun = new V2__Lowercase_emails().backfill(connection, 100);
+    }
+
+    // then - verify the output
+    assertThat(updatedRows).isEqualTo(150);
+    assertThat(updatedRowsOnRerun).isZero();
+  }
+
+  // JUnit test for a batched backfill failing in a later chunk
+  @DisplayName("JUnit test for a batched backfill failing in a later chunk")
+  @Test
+  void givenConflictInLaterChunk_whenBackfill_thenEarlierChunksStayCommittedAndRerunCompletes() throws SQLException {
+    // given - precondition or setup
+    insertEmployees(250, 0);
+    // lower casing Employee150@mail.com collides with this row
+    jdbcTemplate.update("insert into employees (first_name, last_name, email, version) "
+        + "values ('First', 'Last', 'employee150@mail.com', 0)");
+
+    // when - action or the behaviour that we are going test
+    try (Connection connection = dataSource.getConnection()) {
+      assertThatThrownBy(() -> new V2__Lowercase_emails().backfill(connection, 100))
+          .isInstanceOf(SQLException.class);
+    }
+    long pendingAfterFailure = pendingRows();
+    jdbcTemplate.update("delete from employees where email = 'employee150@mail.com'");
+    long updatedRowsOnRerun;
+    try (Connection connection = dataSource.getConnection()) {
+      updatedRowsOnRerun = new V2__Lowercase_emails().backfill(connection, 100);
+    }
+
+    // then - verify the output
+    assertThat(pendingAfterFailure).isEqualTo(150);
+    assertThat(updatedRowsOnRerun).isEqualTo(150);
+    assertThat(pendingRows()).isZero();
+  }
+
+  // JUnit test for a batched backfill of an empty table
+  @DisplayName("JUnit test for a batched backfill of an empty table")
+  @Test
+  void givenEmptyTable_whenBackfill_thenNothingIsUpdated() throws SQLException {
+    // given - precondition or setup
+
+    // when - action or the behaviour that we are going test
+    long updatedRows;
+    try (Connection connection = dataSource.getConnection()) {
+      updatedRows = new V2__Lowercase_emails().backfill(connection, 100);
+    }
+
+    // then - verify the output
+    assertThat(updatedRows).isZero();
+  }
+
+  private FluentConfiguration flyway() {
+    return Flyway.configure().dataSource(dataSource);
+  }
+
+  private long pendingRows() {
+    return jdbcTemplate.queryForObject("select count(*) from employees where email <> lower(email)", Long.class);
+  }
+
+  // the first migrated rows already have lower case emails
+  private void insertEmployees(int count, int migrated) {
+    jdbcTemplate.batchUpdate("insert into employees (first_name, last_name, email, version) values (?, ?, ?, 0)",
+        IntStream.range(0, count)
+            .mapToObj(i -> new Object[] {"First" + i, "Last" + i,
+                (i < migrated ? "employee" : "Employee") + i + "@mail.com"})
+            .toList());
+  }
+}
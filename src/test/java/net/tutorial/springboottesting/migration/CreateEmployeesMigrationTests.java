@@ -0,0 +1,115 @@
+package net.tutorial.springboottesting.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+// db.migration.V1__Create_employees on an empty database and on tables left by the former ddl-auto=update
+class CreateEmployeesMigrationTests {
+
+  private DataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setup() {
+    dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+        "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  // JUnit test for migrating an empty database
+  @DisplayName("JUnit test for migrating an empty database")
+  @Test
+  void givenEmptyDatabase_whenMigrate_thenEmployeesTableIsCreated() {
+    // given - precondition or setup
+
+    // when - action or the behaviour that we are going test
+    flyway().load().migrate();
+
+    // then - verify the output
+    assertThat(columns()).containsExactly("ID", "FIRST_NAME", "LAST_NAME", "EMAIL", "VERSION", "DELETED_AT");
+    assertThat(uniqueConstraintCount()).isEqualTo(1);
+    assertThat(indexedColumns()).contains("FIRST_NAME", "LAST_NAME", "DELETED_AT");
+    assertThat(flyway().load().info().current().getVersion()).isEqualTo(MigrationVersion.fromVersion("1"));
+  }
+
+  // JUnit test for migrating the table of the first ddl-auto=update schema
+  @DisplayName("JUnit test for migrating the table of the first ddl-auto=update schema")
+  @Test
+  void givenLegacyTableWithRows_whenMigrate_thenMissingColumnsAndIndexesAreAdded() {
+    // given - precondition or setup
+    jdbcTemplate.execute("create table employees (id bigint not null auto_increment, email varchar(255), "
+        + "first_name varchar(255) not null, last_name varchar(255) not null, primary key (id))");
+    jdbcTemplate.update("insert into employees (first_name, last_name, email) "
+        + "values ('Mihail', 'Cepraga', 'mcepraga@mail.com')");
+
+    // when - action or the behaviour that we are going test
+    flyway().load().migrate();
+
+    // then - verify the output
+    assertThat(columns()).contains("VERSION", "DELETED_AT");
+    assertThat(jdbcTemplate.queryForObject("select version from employees", Long.class)).isZero();
+    assertThat(uniqueConstraintCount()).isEqualTo(1);
+    assertThat(indexedColumns()).contains("FIRST_NAME", "LAST_NAME", "DELETED_AT");
+    assertThat(flyway().load().info().current().getVersion()).isEqualTo(MigrationVersion.fromVersion("1"));
+  }
+
+  // JUnit test for migrating a table ddl-auto=update already brought up to date
+  @DisplayName("JUnit test for migrating a table ddl-auto=update already brought up to date")
+  @Test
+  void givenCompleteLegacyTable_whenMigrate_thenNothingIsAddedTwice() {
+    // given - precondition or setup
+    jdbcTemplate.execute("create table employees (id bigint not null auto_increment, email varchar(255), "
+        + "first_name varchar(255) not null, last_name varchar(255) not null, version bigint not null, "
+        + "deleted_at timestamp(6), primary key (id), constraint uk_legacy_email unique (email))");
+    jdbcTemplate.execute("create index idx_legacy_name on employees (first_name, last_name)");
+    jdbcTemplate.execute("create index idx_legacy_deleted_at on employees (deleted_at)");
+    int indexesBefore = indexCount();
+
+    // when - action or the behaviour that we are going test
+    flyway().load().migrate();
+
+    // then - verify the output
+    assertThat(indexCount()).isEqualTo(indexesBefore);
+    assertThat(uniqueConstraintCount()).isEqualTo(1);
+    assertThat(flyway().load().info().current().getVersion()).isEqualTo(MigrationVersion.fromVersion("1"));
+  }
+
+  // the Flyway settings of application.properties
+  private FluentConfiguration flyway() {
+    return Flyway.configure()
+        .dataSource(dataSource)
+        .baselineOnMigrate(true)
+        .baselineVersion("0");
+  }
+
+  private List<String> columns() {
+    return jdbcTemplate.queryForList("select column_name from information_schema.columns "
+        + "where table_name = 'EMPLOYEES' order by ordinal_position", String.class);
+  }
+
+  private List<String> indexedColumns() {
+    return jdbcTemplate.queryForList("select column_name from information_schema.index_columns "
+        + "where table_name = 'EMPLOYEES'", String.class);
+  }
+
+  private int indexCount() {
+    return jdbcTemplate.queryForObject("select count(*) from information_schema.indexes "
+        + "where table_name = 'EMPLOYEES'", Integer.class);
+  }
+
+  private int uniqueConstraintCount() {
+    return jdbcTemplate.queryForObject("select count(*) from information_schema.table_constraints "
+        + "where table_name = 'EMPLOYEES' and constraint_type = 'UNIQUE'", Integer.class);
+  }
+}
@@ -0,0 +1,63 @@
+package net.tutorial.springboottesting.purge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeTombstonePurgerTests {
+
+  @Mock
+  private EmployeeRepository employeeRepository;
+
+  private EmployeeTombstonePurger purger;
+
+  @BeforeEach
+  void setup() {
+    purger = new EmployeeTombstonePurger(employeeRepository, 2);
+  }
+
+  // JUnit test for purge method
+  @DisplayName("JUnit test for purge method")
+  @Test
+  void givenTombstones_whenPurge_thenDeletedInBatchesUntilNoneLeft() {
+    // given - precondition or setup
+    given(employeeRepository.findTombstoneIds(2)).willReturn(List.of(1L, 2L), List.of(3L));
+    given(employeeRepository.deleteTombstonesByIdIn(anyCollection())).willReturn(2, 1);
+
+    // when - action or the behaviour that we are going test
+    int purgedRows = purger.purge();
+
+    // then - verify the output
+    assertThat(purgedRows).isEqualTo(3);
+    verify(employeeRepository, times(1)).deleteTombstonesByIdIn(List.of(1L, 2L));
+    verify(employeeRepository, times(1)).deleteTombstonesByIdIn(List.of(3L));
+  }
+
+  // JUnit test for purge method without tombstones
+  @DisplayName("JUnit test for purge method without tombstones")
+  @Test
+  void givenNoTombstones_whenPurge_thenNothingIsDeleted() {
+    // given - precondition or setup
+    given(employeeRepository.findTombstoneIds(2)).willReturn(List.of());
+
+    // when - action or the behaviour that we are going test
+    int purgedRows = purger.purge();
+
+    // then - verify the output
+    assertThat(purgedRows).isZero();
+    verify(employeeRepository, never()).deleteTombstonesByIdIn(anyCollection());
+  }
+}
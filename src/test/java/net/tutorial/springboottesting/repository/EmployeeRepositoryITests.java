@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
 import java.util.Optional;
+import net.tutorial.springboottesting.integration.AbstractContainerBaseTest;
 import net.tutorial.springboottesting.model.Employee;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,7 +16,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
-class EmployeeRepositoryITests {
+class EmployeeRepositoryITests extends AbstractContainerBaseTest {
 
   @Autowired
   private EmployeeRepository employeeRepository;
@@ -1,22 +1,40 @@
 package net.tutorial.springboottesting.repository;
 
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import net.tutorial.springboottesting.dto.EmployeeSummary;
 import net.tutorial.springboottesting.model.Employee;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 
-@DataJpaTest
+// the EXPLAIN tests read the SQL Hibernate generates through LastStatementInspector
+@DataJpaTest(properties = "spring.jpa.properties." + AvailableSettings.STATEMENT_INSPECTOR
+    + "=net.tutorial.springboottesting.repository.EmployeeRepositoryTests$LastStatementInspector")
 class EmployeeRepositoryTests {
 
   @Autowired
   private EmployeeRepository employeeRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private EntityManager entityManager;
 
   private Employee employee;
 
@@ -114,6 +132,75 @@ class EmployeeRepositoryTests {
     assertThat(updatedEmployee.getFirstName()).isEqualTo("Mihail");
   }
 
+  // JUnit test for single statement update operation
+  @DisplayName("JUnit test for single statement update operation")
+  @Test
+  void givenEmployeeObject_whenUpdateById_thenReturnUpdatedRowCount() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+
+    // when - action or the behaviour that we are going test
+    int updatedRows = employeeRepository.updateById(employee.getId(), "Mihail1", "Cepraga1", "mihail1@mail.net");
+    int missingRows = employeeRepository.updateById(employee.getId() + 1, "Mihail1", "Cepraga1", "mihail1@mail.net");
+
+    // then - verify the output
+    assertThat(updatedRows).isEqualTo(1);
+    assertThat(missingRows).isZero();
+    assertThat(employeeRepository.findByEmail("mihail1@mail.net")).isPresent();
+  }
+
+  // JUnit test for partial update operation
+  @DisplayName("JUnit test for partial update operation")
+  @Test
+  void givenEmployeeObject_whenPatchById_thenOnlyGivenFieldsAreUpdated() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+
+    // when - action or the behaviour that we are going test
+    int updatedRows = employeeRepository.patchById(employee.getId(), Employee.builder().lastName("Patched").build(), null);
+
+    // then - verify the output
+    assertThat(updatedRows).isEqualTo(1);
+    Employee patchedEmployee = employeeRepository.findByEmail(employee.getEmail()).get();
+    assertThat(patchedEmployee.getFirstName()).isEqualTo("Mihail");
+    assertThat(patchedEmployee.getLastName()).isEqualTo("Patched");
+  }
+
+  // JUnit test for versioned update operation
+  @DisplayName("JUnit test for versioned update operation")
+  @Test
+  void givenEmployeeObject_whenUpdateByIdAndVersion_thenOnlyMatchingVersionIsUpdated() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+    long version = employee.getVersion();
+
+    // when - action or the behaviour that we are going test
+    int updatedRows = employeeRepository.updateByIdAndVersion(employee.getId(), version, "Mihail1", "Cepraga1", "mihail1@mail.net");
+    int staleRows = employeeRepository.updateByIdAndVersion(employee.getId(), version, "Mihail2", "Cepraga2", "mihail2@mail.net");
+
+    // then - verify the output
+    assertThat(updatedRows).isEqualTo(1);
+    assertThat(staleRows).isZero();
+    assertThat(employeeRepository.findById(employee.getId()).get().getVersion()).isEqualTo(version + 1);
+  }
+
+  // JUnit test for versioned delete operation
+  @DisplayName("JUnit test for versioned delete operation")
+  @Test
+  void givenEmployeeObject_whenDeleteByIdAndVersion_thenOnlyMatchingVersionIsDeleted() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+
+    // when - action or the behaviour that we are going test
+    int staleRows = employeeRepository.deleteByIdAndVersion(employee.getId(), employee.getVersion() + 1);
+    int deletedRows = employeeRepository.deleteByIdAndVersion(employee.getId(), employee.getVersion());
+
+    // then - verify the output
+    assertThat(staleRows).isZero();
+    assertThat(deletedRows).isEqualTo(1);
+    assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+  }
+
   // JUnit test for delete employee operation
   @DisplayName("JUnit test for delete employee operation")
   @Test
@@ -128,6 +215,103 @@ class EmployeeRepositoryTests {
     assertThat(employeeOptional).isEmpty();
   }
 
+  // JUnit test for single statement delete operation
+  @DisplayName("JUnit test for single statement delete operation")
+  @Test
+  void givenEmployeeObject_whenDeleteRowById_thenReturnDeletedRowCount() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+
+    // when - action or the behaviour that we are going test
+    int deletedRows = employeeRepository.deleteRowById(employee.getId());
+    int missingRows = employeeRepository.deleteRowById(employee.getId());
+
+    // then - verify the output
+    assertThat(deletedRows).isEqualTo(1);
+    assertThat(missingRows).isZero();
+    assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+  }
+
+  // JUnit test for bulk delete operation
+  @DisplayName("JUnit test for bulk delete operation")
+  @Test
+  void givenEmployees_whenDeleteRowsByIdIn_thenOnlyGivenEmployeesAreDeleted() {
+    // given - precondition or setup
+    Employee employee2 = Employee.builder().firstName("Mihail2").lastName("Cepraga2").email("mihail-cepraga2@mail.net").build();
+    Employee employee3 = Employee.builder().firstName("Mihail3").lastName("Cepraga3").email("mihail-cepraga3@mail.net").build();
+    employeeRepository.saveAll(List.of(employee, employee2, employee3));
+
+    // when - action or the behaviour that we are going test
+    int deletedRows = employeeRepository.deleteRowsByIdIn(List.of(employee.getId(), employee3.getId(), -1L));
+
+    // then - verify the output
+    assertThat(deletedRows).isEqualTo(2);
+    assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(employee2.getId());
+  }
+
+  // JUnit test for soft delete operation
+  @DisplayName("JUnit test for soft delete operation")
+  @Test
+  void givenEmployeeObject_whenSoftDeleteById_thenEmployeeIsHiddenAndEmailReleased() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+
+    // when - action or the behaviour that we are going test
+    int deletedRows = employeeRepository.softDeleteById(employee.getId(), Instant.now());
+    int repeatedRows = employeeRepository.softDeleteById(employee.getId(), Instant.now());
+
+    // then - verify the output
+    assertThat(deletedRows).isEqualTo(1);
+    assertThat(repeatedRows).isZero();
+    assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    assertThat(employeeRepository.findAll()).isEmpty();
+    assertThat(employeeRepository.existsById(employee.getId())).isFalse();
+    assertThat(employeeRepository.findByNativeSQL("Mihail", "Cepraga")).isNull();
+    assertThat(employeeRepository.updateById(employee.getId(), "Mihail", "Cepraga", null)).isZero();
+    Employee sameEmail = Employee.builder().firstName("Ana").lastName("Rusu").email(employee.getEmail()).build();
+    assertThat(employeeRepository.saveAndFlush(sameEmail).getId()).isNotEqualTo(employee.getId());
+  }
+
+  // JUnit test for deleting an employee that is already soft deleted
+  @DisplayName("JUnit test for deleting an employee that is already soft deleted")
+  @Test
+  void givenSoftDeletedEmployee_whenDeleteAgain_thenNoRowIsDeleted() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+    long version = employee.getVersion();
+    employeeRepository.softDeleteById(employee.getId(), Instant.now());
+
+    // when - action or the behaviour that we are going test
+    int deletedRows = employeeRepository.deleteRowById(employee.getId());
+    int versionedRows = employeeRepository.deleteByIdAndVersion(employee.getId(), version + 1);
+    int bulkRows = employeeRepository.deleteRowsByIdIn(List.of(employee.getId()));
+
+    // then - verify the output
+    assertThat(deletedRows).isZero();
+    assertThat(versionedRows).isZero();
+    assertThat(bulkRows).isZero();
+    assertThat(employeeRepository.findTombstoneIds(10)).containsExactly(employee.getId());
+  }
+
+  // JUnit test for purging soft deleted employees
+  @DisplayName("JUnit test for purging soft deleted employees")
+  @Test
+  void givenSoftDeletedEmployees_whenDeleteTombstones_thenRowsAreRemoved() {
+    // given - precondition or setup
+    Employee employee2 = Employee.builder().firstName("Mihail2").lastName("Cepraga2").email("mihail-cepraga2@mail.net").build();
+    employeeRepository.saveAll(List.of(employee, employee2));
+    employeeRepository.softDeleteByIdIn(List.of(employee.getId()), Instant.now());
+
+    // when - action or the behaviour that we are going test
+    List<Long> tombstoneIds = employeeRepository.findTombstoneIds(10);
+    int purgedRows = employeeRepository.deleteTombstonesByIdIn(List.of(employee.getId(), employee2.getId()));
+
+    // then - verify the output
+    assertThat(tombstoneIds).containsExactly(employee.getId());
+    assertThat(purgedRows).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForObject("select count(*) from employees", Integer.class)).isEqualTo(1);
+  }
+
   // JUnit test for custom query using JPQL with index
   @DisplayName("JUnit test for custom query using JPQL with index")
   @Test
@@ -191,4 +375,177 @@ class EmployeeRepositoryTests {
     // then - verify the output
     assertThat(saveEmployee).isNotNull();
   }
+
+  // JUnit test for keyset paginated lookup of every employee with a given name
+  @DisplayName("JUnit test for keyset paginated lookup of every employee with a given name")
+  @Test
+  void givenEmployeesWithSameName_whenFindByFirstNameAndLastName_thenReturnAllMatchesPaged() {
+    // given - precondition or setup
+    Employee namesake = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mihail-cepraga2@mail.net")
+        .build();
+    Employee other = Employee.builder()
+        .firstName("Mihail")
+        .lastName("Other")
+        .email("mihail-other@mail.net")
+        .build();
+    employeeRepository.saveAll(List.of(employee, namesake, other));
+
+    // when - action or the behaviour that we are going test
+    List<Employee> firstPage = employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(
+        "Mihail", "Cepraga", 0L, PageRequest.ofSize(1));
+    List<Employee> secondPage = employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(
+        "Mihail", "Cepraga", firstPage.get(0).getId(), PageRequest.ofSize(1));
+
+    // then - verify the output
+    assertThat(firstPage).extracting(Employee::getEmail).containsExactly(employee.getEmail());
+    assertThat(secondPage).extracting(Employee::getEmail).containsExactly(namesake.getEmail());
+  }
+
+  // JUnit test for the id and name projection
+  @DisplayName("JUnit test for the id and name projection")
+  @Test
+  void givenEmployees_whenFindSummaries_thenReturnSummariesWithoutManagedEntities() {
+    // given - precondition or setup
+    employeeRepository.save(employee);
+    entityManager.clear();
+
+    // when - action or the behaviour that we are going test
+    List<EmployeeSummary> summaries = employeeRepository.findSummariesByIdGreaterThanOrderByIdAsc(0L,
+        PageRequest.ofSize(10));
+
+    // then - verify the output
+    assertThat(summaries).containsExactly(new EmployeeSummary(employee.getId(), "Mihail", "Cepraga"));
+    assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+  }
+
+  // JUnit test for selecting only the requested fields
+  @DisplayName("JUnit test for selecting only the requested fields")
+  @Test
+  void givenEmployees_whenFindFields_thenReturnOnlyRequestedFieldsPaged() {
+    // given - precondition or setup
+    Employee employee2 = Employee.builder()
+        .firstName("Mihail2")
+        .lastName("Cepraga2")
+        .email("mihail-cepraga2@mail.net")
+        .build();
+    employeeRepository.saveAll(List.of(employee, employee2));
+    entityManager.clear();
+
+    // when - action or the behaviour that we are going test
+    List<Map<String, Object>> rows = employeeRepository.findFieldsByIdGreaterThan(List.of("email", "id"),
+        employee.getId(), 10);
+
+    // then - verify the output
+    assertThat(rows).containsExactly(Map.of("email", "mihail-cepraga2@mail.net", "id", employee2.getId()));
+    assertThat(rows.get(0).keySet()).containsExactly("email", "id");
+    assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+  }
+
+  // JUnit test for exporting all employees through the JDBC cursor
+  @DisplayName("JUnit test for exporting all employees through the JDBC cursor")
+  @Test
+  void givenEmployees_whenExportAll_thenLiveEmployeesAreReturnedInIdOrder() {
+    // given - precondition or setup
+    Employee employee2 = Employee.builder().firstName("Mihail2").lastName("Cepraga2").email("mihail-cepraga2@mail.net").build();
+    Employee employee3 = Employee.builder().firstName("Mihail3").lastName("Cepraga3").build();
+    employeeRepository.saveAll(List.of(employee, employee2, employee3));
+    employeeRepository.softDeleteById(employee2.getId(), Instant.now());
+
+    // when - action or the behaviour that we are going test
+    List<Employee> exported = new ArrayList<>();
+    employeeRepository.exportAll(exported::add);
+
+    // then - verify the output
+    assertThat(exported).extracting(Employee::getId, Employee::getFirstName, Employee::getEmail)
+        .containsExactly(tuple(employee.getId(), "Mihail", "mihail-cepraga@mail.net"),
+            tuple(employee3.getId(), "Mihail3", null));
+    assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+  }
+
+  // JUnit test for the batched update by email used by the import
+  @DisplayName("JUnit test for the batched update by email used by the import")
+  @Test
+  void givenExistingEmail_whenUpdateAllByEmail_thenMatchingEmployeeIsUpdatedAndOthersReturned() {
+    // given - precondition or setup
+    employeeRepository.saveAndFlush(employee);
+    Employee update = Employee.builder().firstName("Updated").lastName("Cepraga").email(employee.getEmail()).build();
+    Employee newEmail = Employee.builder().firstName("Ana").lastName("Rusu").email("arusu@mail.net").build();
+    Employee noEmail = Employee.builder().firstName("Ion").lastName("Popescu").build();
+
+    // when - action or the behaviour that we are going test
+    List<Employee> unmatched = employeeRepository.updateAllByEmail(List.of(update, newEmail, noEmail));
+
+    // then - verify the output
+    assertThat(unmatched).containsExactly(noEmail, newEmail);
+    assertThat(update.getId()).isEqualTo(employee.getId());
+    entityManager.clear();
+    Employee updated = employeeRepository.findById(employee.getId()).orElseThrow();
+    assertThat(updated.getFirstName()).isEqualTo("Updated");
+    assertThat(updated.getVersion()).isEqualTo(employee.getVersion() + 1);
+  }
+
+  // JUnit test for the paged name finder being served by the (first_name, last_name) index
+  @DisplayName("JUnit test for the paged name finder being served by the (first_name, last_name) index")
+  @Test
+  void givenNameLookup_whenExplain_thenFirstNameLastNameIndexIsUsed() {
+    // given - precondition or setup
+    employeeRepository.saveAndFlush(employee);
+    LastStatementInspector.clear();
+    employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc("Mihail", "Cepraga", 0,
+        PageRequest.of(0, 100));
+    String sql = LastStatementInspector.last();
+
+    // when - action or the behaviour that we are going test
+    String plan = explain(sql);
+
+    // then - verify the output
+    assertThat(plan).containsIgnoringCase("idx_employees_first_name_last_name");
+  }
+
+  // JUnit test for the email finder being served by the unique email index
+  @DisplayName("JUnit test for the email finder being served by the unique email index")
+  @Test
+  void givenEmailLookup_whenExplain_thenEmailIndexIsUsed() {
+    // given - precondition or setup
+    employeeRepository.saveAndFlush(employee);
+    LastStatementInspector.clear();
+    employeeRepository.findByEmail("mihail-cepraga@mail.net");
+    String sql = LastStatementInspector.last();
+
+    // when - action or the behaviour that we are going test
+    String plan = explain(sql);
+
+    // then - verify the output
+    assertThat(plan).containsIgnoringCase("uk_employees_email");
+  }
+
+  // the plan of a statement as Hibernate prepared it, H2 explains it without binding the parameters
+  private String explain(String sql) {
+    assertThat(sql).startsWithIgnoringCase("select");
+    return jdbcTemplate.query(connection -> connection.prepareStatement("explain " + sql),
+        (ResultSetExtractor<String>) resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+  }
+
+  // keeps the last SQL statement Hibernate prepared on the current thread
+  public static class LastStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<String> LAST = new ThreadLocal<>();
+
+    static void clear() {
+      LAST.remove();
+    }
+
+    static String last() {
+      return LAST.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+      LAST.set(sql);
+      return sql;
+    }
+  }
 }
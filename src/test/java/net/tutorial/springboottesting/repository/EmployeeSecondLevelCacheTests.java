@@ -0,0 +1,229 @@
+package net.tutorial.springboottesting.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import net.tutorial.springboottesting.model.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// the second-level cache only sees committed transactions, every step commits instead of the usual rollback
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSecondLevelCacheTests {
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+  private Employee employee;
+
+  @BeforeEach
+  void setup() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    employee = employeeRepository.save(Employee.builder()
+        .firstName("Mihail")
+        .lastName("Cepraga")
+        .email("mihail-cepraga@mail.net")
+        .build());
+    entityManagerFactory.getCache().evictAll();
+    statistics.clear();
+  }
+
+  // committed rows outlive the test in the shared context, plain SQL also removes the soft deleted ones that
+  // deleteAllInBatch() cannot see through @Where
+  @AfterEach
+  void cleanup() {
+    jdbcTemplate.update("delete from employees");
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  // JUnit test for find employee by id served by the second-level cache
+  @DisplayName("JUnit test for find employee by id served by the second-level cache")
+  @Test
+  void givenCachedEmployee_whenFindById_thenNoEntityIsLoadedFromTheDatabase() {
+    // given - precondition or setup
+    employeeRepository.findById(employee.getId());
+
+    // when - action or the behaviour that we are going test
+    Optional<Employee> found = employeeRepository.findById(employee.getId());
+
+    // then - verify the output
+    assertThat(found).get().extracting(Employee::getEmail).isEqualTo("mihail-cepraga@mail.net");
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    assertThat(statistics.getDomainDataRegionStatistics(Employee.CACHE_REGION).getHitCount()).isEqualTo(1);
+  }
+
+  // JUnit test for the cacheable finders served by the query cache
+  @DisplayName("JUnit test for the cacheable finders served by the query cache")
+  @Test
+  void givenCachedQueries_whenFindAgain_thenNoQueryIsExecuted() {
+    // given - precondition or setup
+    employeeRepository.findByEmail(employee.getEmail());
+    employeeRepository.findByJPQL("Mihail", "Cepraga");
+    employeeRepository.findByJPQLNamedParams("Mihail", "Cepraga");
+    long executedQueries = statistics.getQueryExecutionCount();
+    long queryCacheHits = statistics.getQueryCacheHitCount();
+
+    // when - action or the behaviour that we are going test
+    Optional<Employee> byEmail = employeeRepository.findByEmail(employee.getEmail());
+    Employee byJpql = employeeRepository.findByJPQL("Mihail", "Cepraga");
+    Employee byNamedParams = employeeRepository.findByJPQLNamedParams("Mihail", "Cepraga");
+
+    // then - verify the output
+    assertThat(byEmail).get().extracting(Employee::getId).isEqualTo(employee.getId());
+    assertThat(byJpql.getId()).isEqualTo(employee.getId());
+    assertThat(byNamedParams.getId()).isEqualTo(employee.getId());
+    assertThat(statistics.getQueryExecutionCount()).isEqualTo(executedQueries);
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryCacheHits + 3);
+  }
+
+  // JUnit test for the cached employee and query results after save
+  @DisplayName("JUnit test for the cached employee and query results after save")
+  @Test
+  void givenCachedEmployee_whenSave_thenFindersReturnTheSavedEmployee() {
+    // given - precondition or setup
+    employeeRepository.findById(employee.getId());
+    employeeRepository.findByEmail(employee.getEmail());
+    employeeRepository.findByJPQL("Mihail", "Cepraga");
+
+    // when - action or the behaviour that we are going test
+    transactionTemplate.executeWithoutResult(status -> {
+      Employee saved = employeeRepository.findById(employee.getId()).orElseThrow();
+      saved.setFirstName("Ion");
+      saved.setEmail("ion-cepraga@mail.net");
+    });
+
+    // then - verify the output
+    assertThat(employeeRepository.findById(employee.getId())).get()
+        .extracting(Employee::getFirstName).isEqualTo("Ion");
+    assertThat(employeeRepository.findByEmail("mihail-cepraga@mail.net")).isEmpty();
+    assertThat(employeeRepository.findByEmail("ion-cepraga@mail.net")).isPresent();
+    assertThat(employeeRepository.findByJPQL("Mihail", "Cepraga")).isNull();
+  }
+
+  // JUnit test for the cached employee and query results after delete by id
+  @DisplayName("JUnit test for the cached employee and query results after delete by id")
+  @Test
+  void givenCachedEmployee_whenDeleteById_thenFindersReturnNothing() {
+    // given - precondition or setup
+    employeeRepository.findById(employee.getId());
+    employeeRepository.findByEmail(employee.getEmail());
+    employeeRepository.findByJPQLNamedParams("Mihail", "Cepraga");
+
+    // when - action or the behaviour that we are going test
+    employeeRepository.deleteById(employee.getId());
+
+    // then - verify the output
+    assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    assertThat(employeeRepository.findByEmail(employee.getEmail())).isEmpty();
+    assertThat(employeeRepository.findByJPQLNamedParams("Mihail", "Cepraga")).isNull();
+  }
+
+  // JUnit test for the cached query results after a JDBC batch insert
+  @DisplayName("JUnit test for the cached query results after a JDBC batch insert")
+  @Test
+  void givenCachedMiss_whenInsertAll_thenFindByEmailReturnsTheInsertedEmployee() {
+    // given - precondition or setup
+    employeeRepository.findByEmail("ion-cepraga@mail.net");
+    Employee inserted = Employee.builder().firstName("Ion").lastName("Cepraga").email("ion-cepraga@mail.net").build();
+
+    // when - action or the behaviour that we are going test
+    transactionTemplate.executeWithoutResult(status -> employeeRepository.insertAll(List.of(inserted)));
+
+    // then - verify the output
+    assertThat(employeeRepository.findByEmail("ion-cepraga@mail.net")).get()
+        .extracting(Employee::getId).isEqualTo(inserted.getId());
+  }
+
+  // JUnit test for the cached employee after a JDBC batch update
+  @DisplayName("JUnit test for the cached employee after a JDBC batch update")
+  @Test
+  void givenCachedEmployee_whenUpdateAllByEmail_thenFindByIdReturnsTheUpdatedEmployee() {
+    // given - precondition or setup
+    employeeRepository.findById(employee.getId());
+    employeeRepository.findByJPQL("Mihail", "Cepraga");
+    Employee update = Employee.builder().firstName("Ion").lastName("Cepraga").email(employee.getEmail()).build();
+
+    // when - action or the behaviour that we are going test
+    transactionTemplate.executeWithoutResult(status -> employeeRepository.updateAllByEmail(List.of(update)));
+
+    // then - verify the output
+    assertThat(employeeRepository.findById(employee.getId())).get()
+        .extracting(Employee::getFirstName).isEqualTo("Ion");
+    assertThat(employeeRepository.findByJPQL("Mihail", "Cepraga")).isNull();
+  }
+
+  // JUnit test for the cached employees after a single row update
+  @DisplayName("JUnit test for the cached employees after a single row update")
+  @Test
+  void givenCachedEmployees_whenUpdateById_thenOnlyTheUpdatedEmployeeIsEvicted() {
+    // given - precondition or setup
+    Employee other = employeeRepository.save(Employee.builder()
+        .firstName("Ana")
+        .lastName("Rusu")
+        .email("ana-rusu@mail.net")
+        .build());
+    employeeRepository.findById(employee.getId());
+    employeeRepository.findById(other.getId());
+    statistics.clear();
+
+    // when - action or the behaviour that we are going test
+    transactionTemplate.executeWithoutResult(status ->
+        employeeRepository.updateById(employee.getId(), "Ion", "Cepraga", employee.getEmail()));
+
+    // then - verify the output
+    assertThat(employeeRepository.findById(other.getId())).get()
+        .extracting(Employee::getFirstName).isEqualTo("Ana");
+    assertThat(employeeRepository.findById(employee.getId())).get()
+        .extracting(Employee::getFirstName).isEqualTo("Ion");
+    assertThat(statistics.getDomainDataRegionStatistics(Employee.CACHE_REGION).getHitCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+  }
+
+  // JUnit test for the cached employees after a soft delete
+  @DisplayName("JUnit test for the cached employees after a soft delete")
+  @Test
+  void givenCachedEmployees_whenSoftDeleteById_thenOnlyTheDeletedEmployeeIsEvicted() {
+    // given - precondition or setup
+    Employee other = employeeRepository.save(Employee.builder()
+        .firstName("Ana")
+        .lastName("Rusu")
+        .email("ana-rusu@mail.net")
+        .build());
+    employeeRepository.findById(employee.getId());
+    employeeRepository.findById(other.getId());
+    statistics.clear();
+
+    // when - action or the behaviour that we are going test
+    transactionTemplate.executeWithoutResult(status ->
+        employeeRepository.softDeleteById(employee.getId(), Instant.now()));
+
+    // then - verify the output
+    assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    assertThat(employeeRepository.findById(other.getId())).isPresent();
+    assertThat(statistics.getDomainDataRegionStatistics(Employee.CACHE_REGION).getHitCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,193 @@
+package net.tutorial.springboottesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import net.tutorial.springboottesting.coalesce.EmployeeLookupCoalescer;
+import net.tutorial.springboottesting.config.CacheConfig;
+import net.tutorial.springboottesting.dto.EmployeeLookupResult;
+import net.tutorial.springboottesting.index.EmployeeEmailIndex;
+import net.tutorial.springboottesting.index.EmployeeSearchIndex;
+import net.tutorial.springboottesting.model.Employee;
+import net.tutorial.springboottesting.repository.EmployeeRepository;
+import net.tutorial.springboottesting.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@SpringBootTest(classes = {CacheConfig.class, EmployeeServiceImpl.class,
+    EmployeeServiceCacheTests.TransactionConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class EmployeeServiceCacheTests {
+
+  @MockBean
+  private EmployeeRepository employeeRepository;
+  @MockBean
+  private EmployeeEmailIndex employeeEmailIndex;
+  @MockBean
+  private EmployeeSearchIndex employeeSearchIndex;
+  @MockBean
+  private EmployeeLookupCoalescer employeeLookupCoalescer;
+  @MockBean
+  private EntityManagerFactory entityManagerFactory;
+  @MockBean
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private EmployeeService employeeService;
+  @Autowired
+  private CacheManager cacheManager;
+
+  private Employee employee;
+
+  @BeforeEach
+  void setup() {
+    cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+    employee = Employee.builder().id(1L).firstName("Mihail").lastName("Cepraga").email("mihail@mail.com").build();
+  }
+
+  // JUnit test for getEmployeeById served from the cache
+  @DisplayName("JUnit test for getEmployeeById served from the cache")
+  @Test
+  void givenCachedEmployee_whenGetEmployeeById_thenRepositoryIsQueriedOnce() {
+    // given - precondition or setup
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
+
+    // when - action or the behaviour that we are going test
+    employeeService.getEmployeeById(1L);
+    Optional<Employee> cachedEmployee = employeeService.getEmployeeById(1L);
+
+    // then - verify the output
+    assertThat(cachedEmployee).contains(employee);
+    verify(employeeLookupCoalescer, times(1)).findById(1L);
+  }
+
+  // JUnit test for getEmployeeById when the employee does not exist
+  @DisplayName("JUnit test for getEmployeeById when the employee does not exist")
+  @Test
+  void givenMissingEmployee_whenGetEmployeeById_thenEmptyResultIsNotCached() {
+    // given - precondition or setup
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.empty());
+
+    // when - action or the behaviour that we are going test
+    employeeService.getEmployeeById(1L);
+    employeeService.getEmployeeById(1L);
+
+    // then - verify the output
+    verify(employeeLookupCoalescer, times(2)).findById(1L);
+  }
+
+  // JUnit test for updateEmployee refreshing the cache
+  @DisplayName("JUnit test for updateEmployee refreshing the cache")
+  @Test
+  void givenCachedEmployee_whenUpdateEmployee_thenCacheHoldsUpdatedEmployee() {
+    // given - precondition or setup
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
+    employeeService.getEmployeeById(1L);
+    Employee updatedEmployee = Employee.builder().id(1L).firstName("Updated").lastName("Cepraga").email("mihail@mail.com").build();
+    given(employeeRepository.save(updatedEmployee)).willReturn(updatedEmployee);
+
+    // when - action or the behaviour that we are going test
+    employeeService.updateEmployee(updatedEmployee);
+
+    // then - verify the output
+    assertThat(employeeService.getEmployeeById(1L)).contains(updatedEmployee);
+    verify(employeeLookupCoalescer, times(1)).findById(1L);
+  }
+
+  // JUnit test for deleteEmployeeById evicting the cache
+  @DisplayName("JUnit test for deleteEmployeeById evicting the cache")
+  @Test
+  void givenCachedEmployee_whenDeleteEmployeeById_thenCacheIsEvicted() {
+    // given - precondition or setup
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
+    employeeService.getEmployeeById(1L);
+
+    // when - action or the behaviour that we are going test
+    employeeService.deleteEmployeeById(1L);
+    employeeService.getEmployeeById(1L);
+
+    // then - verify the output
+    verify(employeeLookupCoalescer, times(2)).findById(1L);
+  }
+
+  // JUnit test for deleteEmployeesByIds evicting the cache
+  @DisplayName("JUnit test for deleteEmployeesByIds evicting the cache")
+  @Test
+  void givenCachedEmployee_whenDeleteEmployeesByIds_thenCacheIsEvicted() {
+    // given - precondition or setup
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
+    employeeService.getEmployeeById(1L);
+    given(employeeRepository.deleteRowsByIdIn(List.of(1L, 2L))).willReturn(1);
+
+    // when - action or the behaviour that we are going test
+    employeeService.deleteEmployeesByIds(List.of(1L, 2L));
+    employeeService.getEmployeeById(1L);
+
+    // then - verify the output
+    verify(employeeLookupCoalescer, times(2)).findById(1L);
+  }
+
+  // JUnit test for getEmployeesByIds consulting the cache first
+  @DisplayName("JUnit test for getEmployeesByIds consulting the cache first")
+  @Test
+  void givenCachedEmployee_whenGetEmployeesByIds_thenOnlyUncachedIdsAreQueried() {
+    // given - precondition or setup
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
+    employeeService.getEmployeeById(1L);
+    Employee other = Employee.builder().id(2L).firstName("Ana").lastName("Rusu").email("arusu@mail.com").build();
+    given(employeeRepository.findAllById(List.of(2L))).willReturn(List.of(other));
+
+    // when - action or the behaviour that we are going test
+    EmployeeLookupResult result = employeeService.getEmployeesByIds(List.of(2L, 1L));
+
+    // then - verify the output
+    assertThat(result.employees()).containsExactly(other, employee);
+    verify(employeeRepository, times(1)).findAllById(List.of(2L));
+    assertThat(employeeService.getEmployeeById(2L)).contains(other);
+  }
+
+  // JUnit test for saveEmployee when the commit fails
+  @DisplayName("JUnit test for saveEmployee when the commit fails")
+  @Test
+  void givenFailingCommit_whenSaveEmployee_thenEmployeeIsNotCached() {
+    // given - precondition or setup
+    given(employeeRepository.save(employee)).willReturn(employee);
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.empty());
+    given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+    willThrow(new TransactionSystemException("commit failed")).willDoNothing()
+        .given(transactionManager).commit(any());
+
+    // when - action or the behaviour that we are going test
+    assertThrows(TransactionSystemException.class, () -> employeeService.saveEmployee(employee));
+
+    // then - verify the output
+    assertThat(employeeService.getEmployeeById(1L)).isEmpty();
+    verify(employeeLookupCoalescer, times(1)).findById(1L);
+  }
+
+  // transaction advice with a mocked transaction manager, so the order of cache and transaction advice is tested
+  @Configuration
+  @EnableTransactionManagement
+  static class TransactionConfig {
+  }
+}
@@ -1,9 +1,20 @@
 package net.tutorial.springboottesting.service;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import net.tutorial.springboottesting.coalesce.EmployeeLookupCoalescer;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult;
+import net.tutorial.springboottesting.dto.EmployeeBatchResult.Status;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.dto.EmployeeLookupResult;
 import net.tutorial.springboottesting.exception.ResourceNotFoundException;
+import net.tutorial.springboottesting.exception.VersionConflictException;
+import net.tutorial.springboottesting.index.EmployeeEmailIndex;
+import net.tutorial.springboottesting.index.EmployeeSearchIndex;
 import net.tutorial.springboottesting.model.Employee;
 import net.tutorial.springboottesting.repository.EmployeeRepository;
 import net.tutorial.springboottesting.service.impl.EmployeeServiceImpl;
@@ -11,11 +22,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,6 +46,12 @@ class EmployeeServiceTests {
 
   @Mock
   private EmployeeRepository employeeRepository;
+  @Mock
+  private EmployeeEmailIndex employeeEmailIndex;
+  @Mock
+  private EmployeeSearchIndex employeeSearchIndex;
+  @Mock
+  private EmployeeLookupCoalescer employeeLookupCoalescer;
   @InjectMocks
   private EmployeeServiceImpl employeeService;
 
@@ -44,7 +67,7 @@ class EmployeeServiceTests {
   @Test
   void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
     // given - precondition or setup
-    given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
+    given(employeeEmailIndex.contains(employee.getEmail())).willReturn(false);
     given(employeeRepository.save(employee)).willReturn(employee);
 
     // when - action or the behaviour that we are going test
@@ -53,6 +76,44 @@ class EmployeeServiceTests {
     // then - verify the output
     assertThat(saveEmployee).isNotNull();
     assertThat(saveEmployee.getId()).isEqualTo(employee.getId());
+    verify(employeeRepository, never()).existsByEmail(employee.getEmail());
+    verify(employeeEmailIndex).put(employee.getId(), employee.getEmail());
+    verify(employeeSearchIndex).put(employee.getId(), employee.getFirstName(), employee.getLastName(),
+        employee.getEmail());
+  }
+
+  // JUnit test for saveEmployee method with a stale email index entry
+  @DisplayName("JUnit test for saveEmployee method with a stale email index entry")
+  @Test
+  void givenStaleEmailIndexEntry_whenSaveEmployee_thenReturnEmployeeObject() {
+    // given - precondition or setup
+    given(employeeEmailIndex.contains(employee.getEmail())).willReturn(true);
+    given(employeeRepository.existsByEmail(employee.getEmail())).willReturn(false);
+    given(employeeRepository.save(employee)).willReturn(employee);
+
+    // when - action or the behaviour that we are going test
+    Employee saveEmployee = employeeService.saveEmployee(employee);
+
+    // then - verify the output
+    assertThat(saveEmployee).isNotNull();
+    verify(employeeEmailIndex).removeEmail(employee.getEmail());
+    verify(employeeEmailIndex).put(employee.getId(), employee.getEmail());
+  }
+
+  // JUnit test for saveEmployee method when the unique email constraint is violated
+  @DisplayName("JUnit test for saveEmployee method when the unique email constraint is violated")
+  @Test
+  void givenEmailMissingFromIndex_whenSaveEmployeeViolatesConstraint_thenThrowsException() {
+    // given - precondition or setup
+    given(employeeEmailIndex.contains(employee.getEmail())).willReturn(false);
+    given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException("uk_employees_email"));
+    given(employeeRepository.existsByEmailAndIdNot(employee.getEmail(), employee.getId())).willReturn(true);
+
+    // when - action or the behaviour that we are going test
+    org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
+
+    // then - verify the output
+    verify(employeeEmailIndex, never()).put(employee.getId(), employee.getEmail());
   }
 
   // JUnit test for saveEmployee method which throws exception
@@ -60,7 +121,8 @@ class EmployeeServiceTests {
   @Test
   void givenEmployeeObject_whenSaveEmployee_thenThrowsException() {
     // given - precondition or setup
-    given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+    given(employeeEmailIndex.contains(employee.getEmail())).willReturn(true);
+    given(employeeRepository.existsByEmail(employee.getEmail())).willReturn(true);
 
     // when - action or the behaviour that we are going test
     org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
@@ -69,6 +131,33 @@ class EmployeeServiceTests {
     verify(employeeRepository, never()).save(any(Employee.class));
   }
 
+  // JUnit test for saveEmployees method
+  @DisplayName("JUnit test for saveEmployees method")
+  @Test
+  void givenEmployeeList_whenSaveEmployees_thenReturnPerRowResults() {
+    // given - precondition or setup
+    Employee existing = Employee.builder().firstName("Mihail1").lastName("Cepraga1").email("Existing@mail.com").build();
+    Employee duplicateInRequest = Employee.builder().firstName("Mihail2").lastName("Cepraga2").email("MIHAIL@mail.com").build();
+    Employee invalid = Employee.builder().firstName("Mihail3").email("mihail3@mail.com").build();
+    Employee withoutId = Employee.builder().firstName("Mihail").lastName("Cepraga").email("mihail@mail.com").build();
+    given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of("existing@mail.com"));
+    willAnswer(invocation -> {
+      List<Employee> employees = invocation.getArgument(0);
+      employees.forEach(inserted -> inserted.setId(10L));
+      return null;
+    }).given(employeeRepository).insertAll(List.of(withoutId));
+
+    // when - action or the behaviour that we are going test
+    List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(withoutId, existing, duplicateInRequest, invalid));
+
+    // then - verify the output
+    assertThat(results).extracting(EmployeeBatchResult::status)
+        .containsExactly(Status.CREATED, Status.DUPLICATE, Status.DUPLICATE, Status.INVALID);
+    assertThat(results.get(0).id()).isEqualTo(10L);
+    verify(employeeRepository, times(1)).findExistingEmails(anyCollection());
+    verify(employeeEmailIndex).put(10L, "mihail@mail.com");
+  }
+
   // JUnit test for getAllEmployees method
   @DisplayName("JUnit test for getAllEmployees method")
   @Test
@@ -100,12 +189,89 @@ class EmployeeServiceTests {
     assertThat(employeeList).isEmpty();
   }
 
+  // JUnit test for getEmployeesAfter method
+  @DisplayName("JUnit test for getEmployeesAfter method")
+  @Test
+  void givenAfterIdAndLimit_whenGetEmployeesAfter_thenReturnEmployeesPage() {
+    // given - precondition or setup
+    given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(10))).willReturn(List.of(employee));
+
+    // when - action or the behaviour that we are going test
+    List<Employee> employeeList = employeeService.getEmployeesAfter(0L, 10);
+
+    // then - verify the output
+    assertThat(employeeList).containsExactly(employee);
+  }
+
+  // JUnit test for getEmployeesByName method
+  @DisplayName("JUnit test for getEmployeesByName method")
+  @Test
+  void givenFirstNameAndLastName_whenGetEmployeesByName_thenReturnEmployeesPage() {
+    // given - precondition or setup
+    given(employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc("Mihail", "Cepraga", 0L,
+        PageRequest.ofSize(10))).willReturn(List.of(employee));
+
+    // when - action or the behaviour that we are going test
+    List<Employee> employeeList = employeeService.getEmployeesByName("Mihail", "Cepraga", 0L, 10);
+
+    // then - verify the output
+    assertThat(employeeList).containsExactly(employee);
+  }
+
+  // JUnit test for searchEmployees method
+  @DisplayName("JUnit test for searchEmployees method")
+  @Test
+  void givenQuery_whenSearchEmployees_thenReturnMatchesFromIndex() {
+    // given - precondition or setup
+    given(employeeSearchIndex.search("mih", 10)).willReturn(List.of(employee));
+
+    // when - action or the behaviour that we are going test
+    List<Employee> employeeList = employeeService.searchEmployees("mih", 10);
+
+    // then - verify the output
+    assertThat(employeeList).containsExactly(employee);
+    verify(employeeRepository, never()).findAll();
+  }
+
+  // JUnit test for getEmployeesByIds method
+  @DisplayName("JUnit test for getEmployeesByIds method")
+  @Test
+  void givenIds_whenGetEmployeesByIds_thenOneQueryAndResultInRequestOrder() {
+    // given - precondition or setup
+    Employee other = Employee.builder().id(2L).firstName("Ana").lastName("Rusu").email("arusu@mail.com").build();
+    given(employeeRepository.findAllById(List.of(2L, 3L, 1L))).willReturn(List.of(employee, other));
+
+    // when - action or the behaviour that we are going test
+    EmployeeLookupResult result = employeeService.getEmployeesByIds(List.of(2L, 3L, 1L, 2L));
+
+    // then - verify the output
+    assertThat(result.employees()).containsExactly(other, employee);
+    assertThat(result.missingIds()).containsExactly(3L);
+    verify(employeeRepository, times(1)).findAllById(anyList());
+  }
+
+  // JUnit test for getEmployeesByIds method with more ids than fit in one query
+  @DisplayName("JUnit test for getEmployeesByIds method with more ids than fit in one query")
+  @Test
+  void givenManyIds_whenGetEmployeesByIds_thenOneQueryPerChunk() {
+    // given - precondition or setup
+    List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+    given(employeeRepository.findAllById(anyList())).willReturn(List.of());
+
+    // when - action or the behaviour that we are going test
+    EmployeeLookupResult result = employeeService.getEmployeesByIds(ids);
+
+    // then - verify the output
+    assertThat(result.missingIds()).hasSize(2500);
+    verify(employeeRepository, times(3)).findAllById(anyList());
+  }
+
   // JUnit test for getEmployeeById method
   @DisplayName("JUnit test for getEmployeeById method")
   @Test
   void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
     // given - precondition or setup
-    given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+    given(employeeLookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
 
     // when - action or the behaviour that we are going test
     Employee savedEmployee = employeeService.getEmployeeById(employee.getId()).orElse(any(Employee.class));
@@ -132,19 +298,251 @@ class EmployeeServiceTests {
     assertThat(updatedEmployee.getEmail()).isEqualTo("updatedmail@mail.com");
   }
 
+  // JUnit test for updateEmployee by id method
+  @DisplayName("JUnit test for updateEmployee by id method")
+  @Test
+  void givenEmployeeIdAndEmployee_whenUpdateEmployee_thenSingleUpdateStatementIsIssued() {
+    // given - precondition or setup
+    given(employeeRepository.updateById(1L, "UpdatedName", "Cepraga", "updatedmail@mail.com")).willReturn(1);
+    given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(5L));
+    Employee changes = Employee.builder().firstName("UpdatedName").lastName("Cepraga").email("updatedmail@mail.com").build();
+
+    // when - action or the behaviour that we are going test
+    Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, changes, null);
+
+    // then - verify the output
+    assertThat(updatedEmployee).isPresent();
+    assertThat(updatedEmployee.get().getId()).isEqualTo(1L);
+    assertThat(updatedEmployee.get().getFirstName()).isEqualTo("UpdatedName");
+    assertThat(updatedEmployee.get().getVersion()).isEqualTo(5L);
+    verify(employeeRepository, never()).findById(1L);
+    verify(employeeRepository, never()).save(any(Employee.class));
+    verify(employeeEmailIndex).put(1L, "updatedmail@mail.com");
+  }
+
+  // JUnit test for updateEmployee by id method (negative scenario)
+  @DisplayName("JUnit test for updateEmployee by id method (negative scenario)")
+  @Test
+  void givenMissingEmployeeId_whenUpdateEmployee_thenReturnEmpty() {
+    // given - precondition or setup
+    given(employeeRepository.updateById(1L, "UpdatedName", "Cepraga", "updatedmail@mail.com")).willReturn(0);
+    Employee changes = Employee.builder().firstName("UpdatedName").lastName("Cepraga").email("updatedmail@mail.com").build();
+
+    // when - action or the behaviour that we are going test
+    Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, changes, null);
+
+    // then - verify the output
+    assertThat(updatedEmployee).isEmpty();
+    verify(employeeEmailIndex, never()).put(1L, "updatedmail@mail.com");
+  }
+
+  // JUnit test for conditional updateEmployee method
+  @DisplayName("JUnit test for conditional updateEmployee method")
+  @Test
+  void givenExpectedVersion_whenUpdateEmployee_thenReturnEmployeeWithNextVersion() {
+    // given - precondition or setup
+    given(employeeRepository.updateByIdAndVersion(1L, 3L, "UpdatedName", "Cepraga", "updatedmail@mail.com")).willReturn(1);
+    Employee changes = Employee.builder().firstName("UpdatedName").lastName("Cepraga").email("updatedmail@mail.com").build();
+
+    // when - action or the behaviour that we are going test
+    Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, changes, 3L);
+
+    // then - verify the output
+    assertThat(updatedEmployee).isPresent();
+    assertThat(updatedEmployee.get().getVersion()).isEqualTo(4L);
+  }
+
+  // JUnit test for conditional updateEmployee method with a stale version
+  @DisplayName("JUnit test for conditional updateEmployee method with a stale version")
+  @Test
+  void givenStaleVersion_whenUpdateEmployee_thenThrowsException() {
+    // given - precondition or setup
+    given(employeeRepository.updateByIdAndVersion(1L, 2L, "UpdatedName", "Cepraga", "updatedmail@mail.com")).willReturn(0);
+    given(employeeRepository.existsById(1L)).willReturn(true);
+    Employee changes = Employee.builder().firstName("UpdatedName").lastName("Cepraga").email("updatedmail@mail.com").build();
+
+    // when - action or the behaviour that we are going test
+    org.junit.jupiter.api.Assertions.assertThrows(VersionConflictException.class,
+        () -> employeeService.updateEmployee(1L, changes, 2L));
+
+    // then - verify the output
+    verify(employeeEmailIndex, never()).put(1L, "updatedmail@mail.com");
+  }
+
+  // JUnit test for conditional deleteEmployeeById method on a missing employee
+  @DisplayName("JUnit test for conditional deleteEmployeeById method on a missing employee")
+  @Test
+  void givenMissingEmployee_whenDeleteEmployeeByIdAndVersion_thenReturnFalse() {
+    // given - precondition or setup
+    given(employeeRepository.deleteByIdAndVersion(1L, 2L)).willReturn(0);
+    given(employeeRepository.existsById(1L)).willReturn(false);
+
+    // when - action or the behaviour that we are going test
+    boolean deleted = employeeService.deleteEmployeeById(1L, 2L);
+
+    // then - verify the output
+    assertThat(deleted).isFalse();
+    verify(employeeEmailIndex, never()).remove(1L);
+  }
+
+  // JUnit test for patchEmployee method
+  @DisplayName("JUnit test for patchEmployee method")
+  @Test
+  void givenPatchWithFirstName_whenPatchEmployee_thenReturnStoredVersion() {
+    // given - precondition or setup
+    Employee patch = Employee.builder().firstName("Patched").build();
+    given(employeeRepository.patchById(1L, patch, null)).willReturn(1);
+    given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(4L));
+
+    // when - action or the behaviour that we are going test
+    Optional<Long> version = employeeService.patchEmployee(1L, patch, null);
+
+    // then - verify the output
+    assertThat(version).contains(4L);
+    verify(employeeEmailIndex, never()).put(any(Long.class), any(String.class));
+    verify(employeeSearchIndex).patch(1L, "Patched", null, null);
+  }
+
+  // JUnit test for conditional patchEmployee method with an empty patch
+  @DisplayName("JUnit test for conditional patchEmployee method with an empty patch")
+  @Test
+  void givenEmptyPatchAndExpectedVersion_whenPatchEmployee_thenReturnUnchangedVersion() {
+    // given - precondition or setup
+    Employee patch = Employee.builder().build();
+    given(employeeRepository.patchById(1L, patch, 3L)).willReturn(1);
+
+    // when - action or the behaviour that we are going test
+    Optional<Long> version = employeeService.patchEmployee(1L, patch, 3L);
+
+    // then - verify the output
+    assertThat(version).contains(3L);
+    verify(employeeRepository, never()).findVersionById(1L);
+  }
+
+  // JUnit test for conditional patchEmployee method
+  @DisplayName("JUnit test for conditional patchEmployee method")
+  @Test
+  void givenPatchAndExpectedVersion_whenPatchEmployee_thenReturnNextVersion() {
+    // given - precondition or setup
+    Employee patch = Employee.builder().lastName("Patched").build();
+    given(employeeRepository.patchById(1L, patch, 3L)).willReturn(1);
+
+    // when - action or the behaviour that we are going test
+    Optional<Long> version = employeeService.patchEmployee(1L, patch, 3L);
+
+    // then - verify the output
+    assertThat(version).contains(4L);
+  }
+
   // JUnit test for deleteEmployeeById method
   @DisplayName("JUnit test for deleteEmployeeById method")
   @Test
-  void givenEmployeeId_whenDeleteEmployeeById_thenNothing() {
+  void givenEmployeeId_whenDeleteEmployeeById_thenReturnTrue() {
     // given - precondition or setup
     long employeeId = 1L;
-    willDoNothing().given(employeeRepository).deleteById(employeeId);
+    given(employeeRepository.deleteRowById(employeeId)).willReturn(1);
+
+    // when - action or the behaviour that we are going test
+    boolean deleted = employeeService.deleteEmployeeById(employeeId);
+
+    // then - verify the output
+    assertThat(deleted).isTrue();
+    verify(employeeRepository, times(1)).deleteRowById(employeeId);
+    verify(employeeRepository, never()).deleteById(employeeId);
+    verify(employeeEmailIndex, times(1)).remove(employeeId);
+    verify(employeeSearchIndex, times(1)).remove(employeeId);
+
+  }
+
+  // JUnit test for deleteEmployeeById method on a missing employee
+  @DisplayName("JUnit test for deleteEmployeeById method on a missing employee")
+  @Test
+  void givenMissingEmployee_whenDeleteEmployeeById_thenReturnFalse() {
+    // given - precondition or setup
+    given(employeeRepository.deleteRowById(1L)).willReturn(0);
+
+    // when - action or the behaviour that we are going test
+    boolean deleted = employeeService.deleteEmployeeById(1L);
+
+    // then - verify the output
+    assertThat(deleted).isFalse();
+    verify(employeeSearchIndex, never()).remove(1L);
+  }
+
+  // JUnit test for deleteEmployeeById method in soft delete mode
+  @DisplayName("JUnit test for deleteEmployeeById method in soft delete mode")
+  @Test
+  void givenSoftDeleteMode_whenDeleteEmployeeById_thenRowIsMarkedDeleted() {
+    // given - precondition or setup
+    ReflectionTestUtils.setField(employeeService, "deleteMode", "soft");
+    given(employeeRepository.softDeleteById(eq(1L), any(Instant.class))).willReturn(1);
+
+    // when - action or the behaviour that we are going test
+    boolean deleted = employeeService.deleteEmployeeById(1L);
+
+    // then - verify the output
+    assertThat(deleted).isTrue();
+    verify(employeeRepository, never()).deleteRowById(1L);
+    verify(employeeSearchIndex, times(1)).remove(1L);
+  }
+
+  // JUnit test for deleteEmployeesByIds method
+  @DisplayName("JUnit test for deleteEmployeesByIds method")
+  @Test
+  void givenIds_whenDeleteEmployeesByIds_thenOneStatement() {
+    // given - precondition or setup
+    List<Long> ids = LongStream.rangeClosed(1, 1000).boxed().toList();
+    given(employeeRepository.deleteRowsByIdIn(anyCollection())).willReturn(999);
+
+    // when - action or the behaviour that we are going test
+    int deleted = employeeService.deleteEmployeesByIds(ids);
+
+    // then - verify the output
+    assertThat(deleted).isEqualTo(999);
+    verify(employeeRepository, times(1)).deleteRowsByIdIn(ids);
+    verify(employeeSearchIndex, times(1000)).remove(any(Long.class));
+  }
+
+  // JUnit test for deleteEmployeesByIds method in soft delete mode
+  @DisplayName("JUnit test for deleteEmployeesByIds method in soft delete mode")
+  @Test
+  void givenSoftDeleteMode_whenDeleteEmployeesByIds_thenDuplicateIdsAreMarkedOnce() {
+    // given - precondition or setup
+    ReflectionTestUtils.setField(employeeService, "deleteMode", "soft");
+    given(employeeRepository.softDeleteByIdIn(eq(List.of(2L, 1L)), any(Instant.class))).willReturn(2);
 
     // when - action or the behaviour that we are going test
-    employeeService.deleteEmployeeById(employeeId);
+    int deleted = employeeService.deleteEmployeesByIds(List.of(2L, 1L, 2L));
 
     // then - verify the output
-    verify(employeeRepository, times(1)).deleteById(employeeId);
+    assertThat(deleted).isEqualTo(2);
+    verify(employeeRepository, never()).deleteRowsByIdIn(anyCollection());
+  }
 
+  // JUnit test for importEmployees method
+  @DisplayName("JUnit test for importEmployees method")
+  @Test
+  void givenImportRows_whenImportEmployees_thenExistingEmailsAreUpdatedAndTheRestInserted() {
+    // given - precondition or setup
+    Employee existing = Employee.builder().id(7L).firstName("Mihail").lastName("Cepraga").email("mihail@mail.com").build();
+    Employee repeated = Employee.builder().id(8L).firstName("Mihail2").lastName("Cepraga").email("MIHAIL@mail.com").build();
+    Employee added = Employee.builder().firstName("Ana").lastName("Rusu").email("arusu@mail.com").build();
+    Employee invalid = Employee.builder().firstName("Ion").email("ion@mail.com").build();
+    given(employeeRepository.updateAllByEmail(List.of(repeated, added))).willAnswer(invocation -> {
+      repeated.setId(1L);
+      return List.of(added);
+    });
+    willAnswer(invocation -> {
+      added.setId(2L);
+      return null;
+    }).given(employeeRepository).insertAll(List.of(added));
+
+    // when - action or the behaviour that we are going test
+    EmployeeImportResult result = employeeService.importEmployees(Arrays.asList(existing, repeated, added, invalid, null));
+
+    // then - verify the output
+    assertThat(result).isEqualTo(new EmployeeImportResult(1, 2, 2));
+    verify(employeeEmailIndex).put(1L, "MIHAIL@mail.com");
+    verify(employeeSearchIndex).put(2L, "Ana", "Rusu", "arusu@mail.com");
   }
 }
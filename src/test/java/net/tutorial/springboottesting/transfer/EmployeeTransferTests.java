@@ -0,0 +1,59 @@
+package net.tutorial.springboottesting.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.tutorial.springboottesting.dto.EmployeeImportResult;
+import net.tutorial.springboottesting.service.EmployeeService;
+import net.tutorial.springboottesting.transfer.EmployeeTransfer.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeTransferTests {
+
+  @Mock
+  private EmployeeService employeeService;
+
+  private EmployeeTransfer employeeTransfer;
+
+  @BeforeEach
+  void setup() {
+    employeeTransfer = new EmployeeTransfer(employeeService, new ObjectMapper(), 2);
+  }
+
+  // JUnit test for importFrom method
+  @DisplayName("JUnit test for importFrom method")
+  @Test
+  void givenCsvRows_whenImportFrom_thenSavedInBatchesAndCountsAdded() throws Exception {
+    // given - precondition or setup
+    List<Integer> batchSizes = new ArrayList<>();
+    given(employeeService.importEmployees(anyList())).willAnswer(invocation -> {
+      List<?> batch = invocation.getArgument(0);
+      batchSizes.add(batch.size());
+      return new EmployeeImportResult(batch.size(), 0, 0);
+    });
+    StringBuilder csv = new StringBuilder("firstName,lastName,email,department\n");
+    for (int i = 0; i < 5; i++) {
+      csv.append("First").append(i).append(",Last").append(i).append(",employee").append(i).append("@mail.com,IT\n");
+    }
+
+    // when - action or the behaviour that we are going test
+    EmployeeImportResult result = employeeTransfer.importFrom(Format.CSV,
+        new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+    // then - verify the output
+    assertThat(result).isEqualTo(new EmployeeImportResult(5, 0, 0));
+    assertThat(batchSizes).containsExactly(2, 2, 1);
+  }
+}